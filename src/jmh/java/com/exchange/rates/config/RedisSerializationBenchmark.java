@@ -0,0 +1,70 @@
+package com.exchange.rates.config;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.BenchmarkFixtures;
+import com.exchange.rates.service.cache.RateTableRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 12:00 PM
+ * Encoding and decoding a cached rate table with the binary codec the reactive template uses,
+ * against the JSON serializer it replaced.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializationBenchmark {
+
+    @Param({"30", "300"})
+    private int symbols;
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    private RedisSerializer<Object> serializer;
+    private ExchangeRateResponseDTO table;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = "json".equals(codec)
+                ? RedisConfig.jsonRedisSerializer()
+                : new RateTableRedisSerializer(RedisConfig.jsonRedisSerializer(), 1024);
+        table = BenchmarkFixtures.rateTable("Aggregated from multiple sources",
+                BenchmarkFixtures.currencyCodes(symbols), 42);
+        encoded = serializer.serialize(table);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(table);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(encoded);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return serializer.deserialize(serializer.serialize(table));
+    }
+}
@@ -0,0 +1,52 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:40 AM
+ * Deterministic rate tables shared by the benchmarks, so runs of different builds see the same input.
+ */
+
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * The first {@code count} ISO 4217 codes known to the JDK, padded with synthetic codes when more are asked for.
+     */
+    public static List<String> currencyCodes(int count) {
+        List<String> codes = Currency.getAvailableCurrencies().stream()
+                .map(Currency::getCurrencyCode)
+                .sorted()
+                .limit(count)
+                .collect(ArrayList::new, List::add, List::addAll);
+        for (int i = 0; codes.size() < count; i++) {
+            codes.add(String.format("Z%02d", i));
+        }
+        return codes;
+    }
+
+    public static ExchangeRateResponseDTO rateTable(String datasource, List<String> codes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<String, Double> rates = new HashMap<>();
+        for (String code : codes) {
+            rates.put(code, 0.01 + random.nextDouble() * 150.0);
+        }
+        return ExchangeRateResponseDTO.builder()
+                .datasource(datasource)
+                .base("EUR")
+                .rates(rates)
+                .timestamp(Instant.parse("2026-10-18T00:00:00Z"))
+                .build();
+    }
+}
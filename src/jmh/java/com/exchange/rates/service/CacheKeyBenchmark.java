@@ -0,0 +1,42 @@
+package com.exchange.rates.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:50 AM
+ * Per-request key building and input normalization.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private String base = "usd";
+    private String symbols = "eur, GBP,jpy,chf ,eur";
+
+    @Benchmark
+    public String getCacheKey() {
+        return ExchangeRateServiceImpl.getCacheKey(CurrencySymbols.normalizeCurrency(base));
+    }
+
+    @Benchmark
+    public List<String> normalizeSymbols() {
+        return CurrencySymbols.normalizeSymbols(symbols);
+    }
+}
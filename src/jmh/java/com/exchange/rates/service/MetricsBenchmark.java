@@ -0,0 +1,66 @@
+package com.exchange.rates.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:55 AM
+ * Counter and timer updates on the request path, uncontended and with eight threads on the same API.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final Duration[] SLOS = {Duration.ofMillis(50), Duration.ofMillis(250), Duration.ofSeconds(1)};
+
+    private MetricsServiceImpl metricsService;
+
+    @Setup
+    public void setUp() {
+        metricsService = new MetricsServiceImpl(new SimpleMeterRegistry(), SLOS);
+        metricsService.incrementRequestCount("Frankfurter");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void incrementRequestCount() {
+        metricsService.incrementRequestCount("Frankfurter");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void incrementRequestCountContended() {
+        metricsService.incrementRequestCount("Frankfurter");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordProviderLatency() {
+        metricsService.recordProviderLatency("Frankfurter", "success", 12_000_000L);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordProviderLatencyContended() {
+        metricsService.recordProviderLatency("Frankfurter", "success", 12_000_000L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.dto.RateQuoteDTO;
+import com.exchange.rates.service.cache.RateTableRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 02:10 AM
+ * One pair quote from the cross-rate matrix, against the map-based path of {@code /exchangeRates/{base}?symbols=}
+ * on a local cache hit and on a Redis hit.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateQuoteBenchmark {
+
+    @Param({"30", "300"})
+    private int symbols;
+
+    private String from;
+    private String to;
+    private CrossRateMatrix matrix;
+    private Map<String, ExchangeRateResponseDTO> localCache;
+    private RateTableRedisSerializer serializer;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        List<String> codes = BenchmarkFixtures.currencyCodes(symbols);
+        ExchangeRateResponseDTO table = BenchmarkFixtures.rateTable("Aggregated from multiple sources", codes, 42);
+        from = codes.get(symbols / 3);
+        to = codes.get(symbols / 2);
+        matrix = CrossRateMatrix.of(table);
+        localCache = Map.of(ExchangeRateServiceImpl.getCacheKey(from), CrossRates.derive(table, from));
+        serializer = new RateTableRedisSerializer(RedisSerializer.json(), 1024);
+        encoded = serializer.serialize(CrossRates.derive(table, from));
+    }
+
+    @Benchmark
+    public double matrixRate() {
+        return matrix.rate(from, to);
+    }
+
+    @Benchmark
+    public RateQuoteDTO matrixQuote() {
+        CrossRateMatrix current = matrix;
+        String fromCode = CurrencySymbols.normalizeCurrency(from);
+        String toCode = CurrencySymbols.normalizeCurrency(to);
+        return new RateQuoteDTO(fromCode, toCode, current.rate(fromCode, toCode), current.timestamp(), current.version());
+    }
+
+    @Benchmark
+    public ExchangeRateResponseDTO localCacheQuote() {
+        String base = CurrencySymbols.normalizeCurrency(from);
+        ExchangeRateResponseDTO table = localCache.get(ExchangeRateServiceImpl.getCacheKey(base));
+        return CurrencySymbols.slice(table, CurrencySymbols.normalizeSymbols(to));
+    }
+
+    @Benchmark
+    public ExchangeRateResponseDTO redisQuote() {
+        ExchangeRateResponseDTO table = (ExchangeRateResponseDTO) serializer.deserialize(encoded);
+        return CurrencySymbols.slice(table, CurrencySymbols.normalizeSymbols(to));
+    }
+}
@@ -0,0 +1,61 @@
+package com.exchange.rates.service.aggregation;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:45 AM
+ * Folding provider tables into a {@link RateAccumulator} and averaging them, across provider counts and table sizes.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"2", "5", "20"})
+    private int providers;
+
+    @Param({"1", "30", "300"})
+    private int symbols;
+
+    private List<ExchangeRateResponseDTO> responses;
+
+    @Setup
+    public void setUp() {
+        List<String> codes = BenchmarkFixtures.currencyCodes(symbols);
+        responses = new ArrayList<>(providers);
+        for (int i = 0; i < providers; i++) {
+            responses.add(BenchmarkFixtures.rateTable("provider-" + i, codes, i));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Double> accumulate() {
+        RateAccumulator accumulator = new RateAccumulator();
+        for (ExchangeRateResponseDTO response : responses) {
+            accumulator.add(response.getDatasource(), response.getRates());
+        }
+        return accumulator.averages();
+    }
+}
@@ -0,0 +1,83 @@
+package com.exchange.rates.service.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 12:05 PM
+ * Decoding provider payloads: the streaming {@link RateTableParser} the clients use, full table and
+ * filtered to two symbols, against the former generic-map decoding as a baseline.
+ * The payloads under {@code src/jmh/resources/payloads} follow each provider's response shape;
+ * the Frankfurter one carries ~30 rates and the FreeCurrencyRates one a ~300 entry full table.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderPayloadParsingBenchmark {
+
+    @Param({"frankfurter-latest-eur.json:rates", "free-currency-rates-eur.json:eur"})
+    private String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] body;
+    private String ratesField;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] parts = payload.split(":");
+        ratesField = parts[1];
+        try (InputStream in = getClass().getResourceAsStream("/payloads/" + parts[0])) {
+            if (in == null) {
+                throw new IllegalStateException("Missing payload " + parts[0]);
+            }
+            body = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Double> parseRatesAsMap() throws IOException {
+        Map<String, Object> response = objectMapper.readValue(body, Map.class);
+        Map<String, Number> rates = (Map<String, Number>) response.get(ratesField);
+        Map<String, Double> doubleRates = new HashMap<>();
+        rates.forEach((symbol, rate) -> doubleRates.put(symbol.toUpperCase(), rate.doubleValue()));
+        return doubleRates;
+    }
+
+    @Benchmark
+    public Map<String, Double> streamRates() {
+        return new RateTableParser(ratesField, null).feed(wrap(body)).finish().rates();
+    }
+
+    @Benchmark
+    public Map<String, Double> streamFilteredRates() {
+        return new RateTableParser(ratesField, "USD,GBP").feed(wrap(body)).finish().rates();
+    }
+
+    private static DataBuffer wrap(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+}
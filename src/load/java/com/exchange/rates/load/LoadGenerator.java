@@ -0,0 +1,134 @@
+package com.exchange.rates.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:10 PM
+ * Closed loop: N workers back to back, throughput follows the service's latency. Open loop: a fixed arrival
+ * rate where each latency is measured from the request's scheduled start, so a stalled service shows up in
+ * the percentiles instead of quietly lowering the offered load (coordinated omission).
+ */
+
+public class LoadGenerator {
+
+    public record Result(long requests, long errors, Duration elapsed, Histogram latencyMicros) {
+
+        public double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        public double percentileMillis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String baseUrl;
+    private final RequestMix mix;
+
+    public LoadGenerator(String baseUrl, RequestMix mix) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+    }
+
+    public Result closedLoop(int concurrency, Duration duration) throws InterruptedException {
+        Histogram latencies = newHistogram();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < end) {
+                    long sent = System.nanoTime();
+                    boolean ok = send();
+                    record(latencies, requests, errors, sent, ok);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new Result(requests.get(), errors.get(), Duration.ofNanos(System.nanoTime() - start), latencies);
+    }
+
+    public Result openLoop(int ratePerSecond, Duration duration) {
+        Histogram latencies = newHistogram();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        Phaser inFlight = new Phaser(1);
+        long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long total = duration.toSeconds() * ratePerSecond;
+
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * interval;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.register();
+            httpClient.sendAsync(request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        record(latencies, requests, errors, scheduled, e == null && response.statusCode() < 500);
+                        inFlight.arriveAndDeregister();
+                    });
+        }
+        inFlight.arriveAndAwaitAdvance();
+        return new Result(requests.get(), errors.get(), Duration.ofNanos(System.nanoTime() - start), latencies);
+    }
+
+    public String get(String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private boolean send() {
+        try {
+            return httpClient.send(request(), HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + mix.next()))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static void record(Histogram latencies, AtomicLong requests, AtomicLong errors, long since, boolean ok) {
+        long micros = (System.nanoTime() - since) / 1000;
+        latencies.recordValue(Math.min(Math.max(1, micros), latencies.getHighestTrackableValue()));
+        requests.incrementAndGet();
+        if (!ok) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private static Histogram newHistogram() {
+        // Microseconds up to one minute, three significant digits
+        return new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    }
+}
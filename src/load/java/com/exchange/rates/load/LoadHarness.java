@@ -0,0 +1,151 @@
+package com.exchange.rates.load;
+
+import com.exchange.rates.ExchangeRatesApplication;
+import com.exchange.rates.dto.MetricsResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.io.File;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:20 PM
+ * End-to-end load run: starts the stub providers, an embedded Redis (or uses {@code load.redis=host:port})
+ * and the service in the {@code load.profile} execution mode, then runs each scenario after a warm-up and
+ * reports throughput, latency percentiles, upstream calls and the local cache hit ratio. Redis is flushed
+ * before each scenario and the cache TTLs are shortened to {@code load.cache-ttl}, so provider behaviour
+ * stays visible during the measurement instead of being hidden by tables cached in the warm-up.
+ * <p>
+ * {@code mvn -Pload test-compile exec:exec [-Dload.profile=servlet] [-Dload.duration=PT30S] [-Dload.scenarios=...]}
+ * Further {@code --key=value} program arguments override the service's properties.
+ */
+
+public class LoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        String profile = System.getProperty("load.profile", "reactive");
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT20S"));
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+        String redis = System.getProperty("load.redis", "embedded");
+        String selected = System.getProperty("load.scenarios", "");
+        Duration cacheTtl = Duration.parse(System.getProperty("load.cache-ttl", "PT10S"));
+        File resultFile = new File(System.getProperty("load.result", "target/load-result.json"));
+
+        RedisServer embeddedRedis = null;
+        String redisHost = "127.0.0.1";
+        int redisPort;
+        if ("embedded".equals(redis)) {
+            redisPort = freePort();
+            embeddedRedis = new RedisServer(redisPort);
+            embeddedRedis.start();
+        } else {
+            redisHost = redis.substring(0, redis.lastIndexOf(':'));
+            redisPort = Integer.parseInt(redis.substring(redis.lastIndexOf(':') + 1));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        List<Map<String, Object>> results = new ArrayList<>();
+        try (StubProviderServer stub = new StubProviderServer();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(ExchangeRatesApplication.class)
+                     .profiles(profile)
+                     // Command-line arguments, so they win over application.properties
+                     .run(overrides(args,
+                             "--server.port=0",
+                             "--exchange.api.frankfurter.url=" + stub.frankfurterUrl(),
+                             "--exchange.api.free-currency-rates.url=" + stub.jsdelivrUrl(),
+                             "--spring.data.redis.host=" + redisHost,
+                             "--spring.data.redis.port=" + redisPort,
+                             "--logging.level.com.exchange.rates=WARN",
+                             "--logging.level.org.springframework.data.redis=WARN",
+                             "--exchange.cache.soft-ttl=" + cacheTtl,
+                             "--exchange.cache.hard-ttl=" + cacheTtl.multipliedBy(2),
+                             "--exchange.cache.refresh-ahead=" + cacheTtl.dividedBy(5),
+                             "--exchange.cache.local.ttl=" + cacheTtl.dividedBy(2)))) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadGenerator generator = new LoadGenerator("http://127.0.0.1:" + port, new RequestMix(42));
+
+            for (LoadScenario scenario : LoadScenario.defaults()) {
+                if (!selected.isEmpty() && !List.of(selected.split(",")).contains(scenario.name())) {
+                    continue;
+                }
+                stub.setBehaviour(scenario.providers());
+                try (ReactiveRedisConnection connection = context.getBean(ReactiveRedisConnectionFactory.class)
+                        .getReactiveConnection()) {
+                    connection.serverCommands().flushAll().block();
+                }
+                run(generator, scenario, warmup);
+
+                long frankfurterBefore = stub.frankfurterCalls();
+                long jsdelivrBefore = stub.jsdelivrCalls();
+                MetricsResponseDTO metricsBefore = metrics(generator, objectMapper);
+                LoadGenerator.Result result = run(generator, scenario, duration);
+                MetricsResponseDTO metricsAfter = metrics(generator, objectMapper);
+
+                long hits = metricsAfter.getLocalCache().getHits() - metricsBefore.getLocalCache().getHits();
+                long misses = metricsAfter.getLocalCache().getMisses() - metricsBefore.getLocalCache().getMisses();
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("scenario", scenario.name());
+                row.put("profile", profile);
+                row.put("requests", result.requests());
+                row.put("errors", result.errors());
+                row.put("throughput", Math.round(result.throughput()));
+                row.put("p50Ms", result.percentileMillis(50));
+                row.put("p90Ms", result.percentileMillis(90));
+                row.put("p99Ms", result.percentileMillis(99));
+                row.put("p999Ms", result.percentileMillis(99.9));
+                row.put("maxMs", result.latencyMicros().getMaxValue() / 1000.0);
+                row.put("frankfurterCalls", stub.frankfurterCalls() - frankfurterBefore);
+                row.put("jsdelivrCalls", stub.jsdelivrCalls() - jsdelivrBefore);
+                row.put("localCacheHitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+                results.add(row);
+                System.out.println(row);
+            }
+        } finally {
+            if (embeddedRedis != null) {
+                embeddedRedis.stop();
+            }
+        }
+
+        resultFile.getParentFile().mkdirs();
+        objectMapper.writeValue(resultFile, results);
+        System.out.println("Results written to " + resultFile.getAbsolutePath());
+        System.exit(0);
+    }
+
+    private static LoadGenerator.Result run(LoadGenerator generator, LoadScenario scenario, Duration duration)
+            throws InterruptedException {
+        return scenario.openLoop()
+                ? generator.openLoop(scenario.ratePerSecond(), duration)
+                : generator.closedLoop(scenario.concurrency(), duration);
+    }
+
+    private static MetricsResponseDTO metrics(LoadGenerator generator, ObjectMapper objectMapper) throws Exception {
+        return objectMapper.readValue(generator.get("/metrics"), MetricsResponseDTO.class);
+    }
+
+    private static String[] overrides(String[] args, String... overrides) {
+        // Arguments given to the harness come last and win over its defaults
+        String[] all = Arrays.copyOf(overrides, overrides.length + args.length);
+        System.arraycopy(args, 0, all, overrides.length, args.length);
+        return all;
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
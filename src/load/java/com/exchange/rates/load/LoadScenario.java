@@ -0,0 +1,34 @@
+package com.exchange.rates.load;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:10 PM
+ *
+ * @param concurrency   workers of a closed loop, each sends its next request when the previous one returned
+ * @param ratePerSecond arrivals of an open loop, sent on schedule whether or not earlier requests returned
+ */
+
+public record LoadScenario(String name,
+                           int concurrency,
+                           int ratePerSecond,
+                           StubProviderServer.Behaviour providers) {
+
+    public boolean openLoop() {
+        return ratePerSecond > 0;
+    }
+
+    public static List<LoadScenario> defaults() {
+        return List.of(
+                new LoadScenario("closed-16-healthy", 16, 0,
+                        new StubProviderServer.Behaviour(Duration.ofMillis(50), Duration.ofMillis(20), 0, 160)),
+                new LoadScenario("closed-64-flaky", 64, 0,
+                        new StubProviderServer.Behaviour(Duration.ofMillis(150), Duration.ofMillis(100), 0.1, 160)),
+                new LoadScenario("open-200rps-healthy", 0, 200,
+                        new StubProviderServer.Behaviour(Duration.ofMillis(50), Duration.ofMillis(20), 0, 160)),
+                new LoadScenario("open-500rps-slow-large", 0, 500,
+                        new StubProviderServer.Behaviour(Duration.ofMillis(400), Duration.ofMillis(300), 0.02, 300)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.exchange.rates.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:00 PM
+ * Request paths with a skewed popularity: a handful of bases take most of the traffic, about a third of the
+ * requests ask for the full table and the rest for one to a few symbols, mostly the majors.
+ */
+
+public class RequestMix {
+
+    private static final String[] BASES = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "CNY", "SEK", "NOK",
+            "PLN", "TRY", "INR", "BRL", "MXN", "ZAR"};
+    private static final String[] MAJORS = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "CNY"};
+    private static final String[] OTHERS = {"SEK", "NOK", "DKK", "PLN", "CZK", "HUF", "TRY", "INR", "BRL", "MXN",
+            "ZAR", "SGD", "HKD", "KRW", "NZD", "THB"};
+
+    static final List<String> CURRENCIES = Stream.of(MAJORS, OTHERS, BASES)
+            .flatMap(Arrays::stream)
+            .distinct()
+            .toList();
+
+    private final double[] cumulativeWeights;
+    private final Random random;
+
+    public RequestMix(long seed) {
+        this.random = new Random(seed);
+        // Zipf-like: the k-th base is requested about 1/k as often as the first
+        double[] weights = new double[BASES.length];
+        double total = 0;
+        for (int i = 0; i < BASES.length; i++) {
+            total += 1.0 / (i + 1);
+            weights[i] = total;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= total;
+        }
+        this.cumulativeWeights = weights;
+    }
+
+    public synchronized String next() {
+        String base = BASES[baseIndex(random.nextDouble())];
+        double shape = random.nextDouble();
+        if (shape < 0.35) {
+            return "/exchangeRates/" + base;
+        }
+        int count = shape < 0.85 ? 1 + random.nextInt(3) : 4 + random.nextInt(5);
+        List<String> symbols = new ArrayList<>(count);
+        while (symbols.size() < count) {
+            String[] pool = random.nextDouble() < 0.7 ? MAJORS : OTHERS;
+            String symbol = pool[random.nextInt(pool.length)];
+            if (!symbol.equals(base) && !symbols.contains(symbol)) {
+                symbols.add(symbol);
+            }
+        }
+        return "/exchangeRates/" + base + "?symbols=" + String.join(",", symbols);
+    }
+
+    private int baseIndex(double sample) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (sample < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+}
@@ -0,0 +1,192 @@
+package com.exchange.rates.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:00 PM
+ * Local stand-in for both rate providers, serving their URL shapes and payloads:
+ * <ul>
+ *   <li>{@code /frankfurter/latest?from=USD&to=EUR,GBP}, rates under {@code rates},</li>
+ *   <li>{@code /jsdelivr/currencies/usd.json}, rates under the lower-case base.</li>
+ * </ul>
+ * Latency, jitter, error rate and table size can be changed between scenarios.
+ */
+
+public class StubProviderServer implements AutoCloseable {
+
+    public record Behaviour(Duration latency, Duration jitter, double errorRate, int currencies) {
+    }
+
+    private static final List<String> CODES = currencyCodes();
+
+    private final HttpServer server;
+    private final AtomicLong frankfurterCalls = new AtomicLong();
+    private final AtomicLong jsdelivrCalls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private volatile Behaviour behaviour = new Behaviour(Duration.ofMillis(50), Duration.ZERO, 0, 160);
+
+    public StubProviderServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        // Virtual threads, so simulated latency costs a parked thread and not a pool slot
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/frankfurter/latest", exchange -> handle(exchange, frankfurterCalls, this::frankfurter));
+        server.createContext("/jsdelivr/currencies/", exchange -> handle(exchange, jsdelivrCalls, this::jsdelivr));
+        server.start();
+    }
+
+    public String frankfurterUrl() {
+        return baseUrl() + "/frankfurter";
+    }
+
+    public String jsdelivrUrl() {
+        return baseUrl() + "/jsdelivr";
+    }
+
+    public void setBehaviour(Behaviour behaviour) {
+        this.behaviour = behaviour;
+    }
+
+    public long frankfurterCalls() {
+        return frankfurterCalls.get();
+    }
+
+    public long jsdelivrCalls() {
+        return jsdelivrCalls.get();
+    }
+
+    public long failedCalls() {
+        return failedCalls.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private interface PayloadWriter {
+        String write(URI uri, Behaviour behaviour);
+    }
+
+    private void handle(HttpExchange exchange, AtomicLong calls, PayloadWriter payload) throws IOException {
+        calls.incrementAndGet();
+        Behaviour current = behaviour;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = current.latency().toMillis();
+        if (!current.jitter().isZero()) {
+            delay += random.nextLong(-current.jitter().toMillis(), current.jitter().toMillis() + 1);
+        }
+        try {
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (random.nextDouble() < current.errorRate()) {
+            failedCalls.incrementAndGet();
+            respond(exchange, 503, "{\"message\":\"stub failure\"}");
+        } else {
+            respond(exchange, 200, payload.write(exchange.getRequestURI(), current));
+        }
+    }
+
+    private String frankfurter(URI uri, Behaviour current) {
+        String base = queryParam(uri, "from", "EUR");
+        String to = queryParam(uri, "to", null);
+        Set<String> symbols = to != null ? new HashSet<>(Arrays.asList(to.split(","))) : null;
+
+        StringBuilder body = new StringBuilder(32 * current.currencies())
+                .append("{\"amount\":1.0,\"base\":\"").append(base)
+                .append("\",\"date\":\"").append(LocalDate.now()).append("\",\"rates\":{");
+        appendRates(body, base, current.currencies(), symbols, false);
+        return body.append("}}").toString();
+    }
+
+    private String jsdelivr(URI uri, Behaviour current) {
+        String path = uri.getPath();
+        String base = path.substring(path.lastIndexOf('/') + 1, path.length() - ".json".length());
+
+        StringBuilder body = new StringBuilder(32 * current.currencies())
+                .append("{\"date\":\"").append(LocalDate.now()).append("\",\"").append(base).append("\":{");
+        appendRates(body, base.toUpperCase(Locale.ROOT), current.currencies(), null, true);
+        return body.append("}}").toString();
+    }
+
+    private static void appendRates(StringBuilder body, String base, int currencies, Set<String> symbols,
+                                    boolean lowerCase) {
+        boolean first = true;
+        for (int i = 0; i < Math.min(currencies, CODES.size()); i++) {
+            String code = CODES.get(i);
+            if (code.equals(base) || symbols != null && !symbols.contains(code)) {
+                continue;
+            }
+            if (!first) {
+                body.append(',');
+            }
+            first = false;
+            // Stable per pair, so averages across providers stay meaningful
+            double rate = 0.5 + Math.abs((code + base).hashCode() % 10_000) / 1_000.0;
+            body.append('"').append(lowerCase ? code.toLowerCase(Locale.ROOT) : code).append("\":").append(rate);
+        }
+    }
+
+    /**
+     * The codes the request mix uses first, so every table size covers them, then the remaining ISO codes.
+     */
+    private static List<String> currencyCodes() {
+        Set<String> codes = new LinkedHashSet<>(RequestMix.CURRENCIES);
+        Currency.getAvailableCurrencies().stream()
+                .map(Currency::getCurrencyCode)
+                .sorted()
+                .forEach(codes::add);
+        return List.copyOf(codes);
+    }
+
+    private static String queryParam(URI uri, String name, String defaultValue) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return defaultValue;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return pair.substring(eq + 1);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
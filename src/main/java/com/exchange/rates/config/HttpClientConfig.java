@@ -0,0 +1,22 @@
+package com.exchange.rates.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 05:20 PM
+ */
+
+@Configuration
+@EnableConfigurationProperties(ProviderHttpProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public ProviderWebClientFactory providerWebClientFactory(WebClient.Builder webClientBuilder,
+                                                             ProviderHttpProperties providerHttpProperties) {
+        return new ProviderWebClientFactory(webClientBuilder, providerHttpProperties);
+    }
+}
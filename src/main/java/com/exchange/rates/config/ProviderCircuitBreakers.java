@@ -0,0 +1,123 @@
+package com.exchange.rates.config;
+
+import com.exchange.rates.dto.CircuitBreakerMetricsDTO;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 07:00 PM
+ * One circuit breaker, time limiter and semaphore bulkhead per provider, configured from
+ * {@code exchange.api.<provider>.*}. An open breaker or a full bulkhead fails the call at once,
+ * without touching the connection pool. The bulkhead sits outside the breaker so rejected calls
+ * are not counted as provider failures, and 4xx answers (e.g. an unknown currency) never trip it.
+ */
+
+@Log4j2
+public class ProviderCircuitBreakers {
+
+    private final ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory;
+    private final ProviderHttpProperties properties;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public ProviderCircuitBreakers(ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory,
+                                   ProviderHttpProperties properties) {
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.properties = properties;
+        // Configured providers are registered up front so health and metrics list them before the first call
+        properties.getApi().keySet().forEach(this::guardFor);
+    }
+
+    public <T> Mono<T> run(String provider, Mono<T> call) {
+        Guard guard = guardFor(provider);
+        // The fallback rethrows, so callers see the provider's error rather than NoFallbackAvailableException
+        return guard.circuitBreaker.run(call, Mono::error)
+                .transformDeferred(BulkheadOperator.of(guard.bulkhead));
+    }
+
+    public CircuitBreaker.State state(String provider) {
+        return guardFor(provider).state.getState();
+    }
+
+    public List<CircuitBreakerMetricsDTO> snapshot() {
+        return guards.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    CircuitBreaker circuitBreaker = entry.getValue().state;
+                    CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+                    return CircuitBreakerMetricsDTO.builder()
+                            .name(entry.getKey())
+                            .state(circuitBreaker.getState().name())
+                            .failureRate(metrics.getFailureRate())
+                            .bufferedCalls(metrics.getNumberOfBufferedCalls())
+                            .failedCalls(metrics.getNumberOfFailedCalls())
+                            .notPermittedCalls(metrics.getNumberOfNotPermittedCalls())
+                            .availableConcurrentCalls(entry.getValue().bulkhead.getMetrics().getAvailableConcurrentCalls())
+                            .build();
+                })
+                .toList();
+    }
+
+    private Guard guardFor(String provider) {
+        Guard guard = guards.get(provider);
+        if (guard == null) {
+            guard = guards.computeIfAbsent(provider, this::createGuard);
+        }
+        return guard;
+    }
+
+    private Guard createGuard(String provider) {
+        ProviderHttpProperties.Provider settings = properties.provider(provider);
+        ProviderHttpProperties.CircuitBreakerSettings breaker = settings.getCircuitBreaker();
+
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+                .ignoreException(ProviderCircuitBreakers::isClientError)
+                .build();
+        TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom()
+                .timeoutDuration(settings.getTimeLimit())
+                .build();
+        circuitBreakerFactory.configure(builder -> builder
+                .circuitBreakerConfig(circuitBreakerConfig)
+                .timeLimiterConfig(timeLimiterConfig), provider);
+
+        // Same registry and name as the breaker the factory uses at call time, so this is the live instance
+        CircuitBreaker state = circuitBreakerFactory.getCircuitBreakerRegistry()
+                .circuitBreaker(provider, circuitBreakerConfig);
+        // maxWaitDuration stays zero: waiting for a permit would block the event loop
+        Bulkhead bulkhead = Bulkhead.of(provider, BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        state.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker of provider {}: {}", provider, event.getStateTransition()));
+
+        return new Guard(circuitBreakerFactory.create(provider), state, bulkhead);
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+    }
+
+    private record Guard(ReactiveCircuitBreaker circuitBreaker, CircuitBreaker state, Bulkhead bulkhead) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.exchange.rates.config;
+
+import com.exchange.rates.dto.CircuitBreakerMetricsDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.List;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 07:15 PM
+ * Reports the circuit breaker of every provider under {@code /actuator/health}. The service is
+ * only DOWN when every breaker is open, as one available provider still yields fresh rates.
+ */
+
+public class ProviderHealthIndicator implements HealthIndicator {
+
+    private final ProviderCircuitBreakers circuitBreakers;
+
+    public ProviderHealthIndicator(ProviderCircuitBreakers circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    @Override
+    public Health health() {
+        List<CircuitBreakerMetricsDTO> breakers = circuitBreakers.snapshot();
+        boolean allOpen = !breakers.isEmpty() && breakers.stream()
+                .allMatch(breaker -> CircuitBreaker.State.OPEN.name().equals(breaker.getState()));
+
+        Health.Builder health = allOpen ? Health.down() : Health.up();
+        breakers.forEach(breaker -> health.withDetail(breaker.getName(), breaker));
+        return health.build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.exchange.rates.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 05:00 PM
+ * Per-provider HTTP and resilience settings, bound from {@code exchange.api.<provider>.*}. Unset values use the defaults below.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "exchange")
+public class ProviderHttpProperties {
+
+    private Map<String, Provider> api = new HashMap<>();
+
+    public Provider provider(String name) {
+        return api.getOrDefault(name, new Provider());
+    }
+
+    @Data
+    public static class Provider {
+        private String url;
+        /**
+         * Connections kept per remote host; requests beyond this wait in the pending queue.
+         */
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 100;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private boolean keepAlive = true;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private boolean compress = true;
+        private List<HttpProtocol> protocols = List.of(HttpProtocol.HTTP11);
+        /**
+         * Threads of a dedicated event loop for this provider, 0 shares the default Reactor Netty loops.
+         */
+        private int eventLoopThreads = 0;
+        private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+        /**
+         * Calls allowed in flight at once; further calls are rejected immediately instead of queueing.
+         */
+        private int maxConcurrentCalls = 25;
+        /**
+         * Upper bound of one call including the body, recorded as a breaker failure when exceeded.
+         */
+        private Duration timeLimit = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+}
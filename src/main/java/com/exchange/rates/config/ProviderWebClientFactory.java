@@ -0,0 +1,93 @@
+package com.exchange.rates.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 05:10 PM
+ * Builds one WebClient per provider on its own connection pool, so a slow provider can only
+ * exhaust its own connections and pending queue. Pool and client metrics are published under
+ * {@code reactor.netty.*} with the provider name as pool name.
+ */
+
+@Log4j2
+public class ProviderWebClientFactory implements DisposableBean {
+
+    private static final Pattern QUERY = Pattern.compile("\\?.*$");
+    private static final Pattern DATE_SEGMENT = Pattern.compile("([/@])\\d{4}-\\d{2}-\\d{2}(?=/|$)");
+    private static final Pattern BASE_FILE = Pattern.compile("/[A-Za-z]{3}\\.json$");
+
+    private final WebClient.Builder webClientBuilder;
+    private final ProviderHttpProperties properties;
+    private final List<ConnectionProvider> connectionProviders = new CopyOnWriteArrayList<>();
+    private final List<LoopResources> loopResources = new CopyOnWriteArrayList<>();
+
+    public ProviderWebClientFactory(WebClient.Builder webClientBuilder, ProviderHttpProperties properties) {
+        this.webClientBuilder = webClientBuilder;
+        this.properties = properties;
+    }
+
+    public WebClient create(String provider) {
+        ProviderHttpProperties.Provider settings = properties.provider(provider);
+        log.info("Creating HTTP client for provider {}: {}", provider, settings);
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient(provider, settings)))
+                .build();
+    }
+
+    HttpClient httpClient(String provider, ProviderHttpProperties.Provider settings) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("provider-" + provider)
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .evictInBackground(settings.getEvictInBackground())
+                .metrics(true)
+                .build();
+        connectionProviders.add(connectionProvider);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .responseTimeout(settings.getResponseTimeout())
+                .keepAlive(settings.isKeepAlive())
+                .compress(settings.isCompress())
+                .protocol(settings.getProtocols().toArray(HttpProtocol[]::new))
+                .metrics(true, ProviderWebClientFactory::uriTag);
+
+        if (settings.getEventLoopThreads() > 0) {
+            LoopResources loops = LoopResources.create("http-" + provider, settings.getEventLoopThreads(), true);
+            loopResources.add(loops);
+            httpClient = httpClient.runOn(loops);
+        }
+        return httpClient;
+    }
+
+    /**
+     * Keeps the uri tag bounded: no query string, and the dated path segment
+     * ({@code /2026-09-30}, {@code @2026-09-30}) and the base currency file collapsed.
+     */
+    static String uriTag(String uri) {
+        String path = QUERY.matcher(uri).replaceFirst("");
+        path = DATE_SEGMENT.matcher(path).replaceAll("$1{date}");
+        return BASE_FILE.matcher(path).replaceFirst("/{base}.json");
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+        loopResources.forEach(LoopResources::dispose);
+    }
+}
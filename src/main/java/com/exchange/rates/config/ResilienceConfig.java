@@ -0,0 +1,28 @@
+package com.exchange.rates.config;
+
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 07:15 PM
+ */
+
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public ProviderCircuitBreakers providerCircuitBreakers(ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory,
+                                                           ProviderHttpProperties providerHttpProperties) {
+        return new ProviderCircuitBreakers(circuitBreakerFactory, providerHttpProperties);
+    }
+
+    /**
+     * Exposed as the {@code providers} health component.
+     */
+    @Bean
+    public ProviderHealthIndicator providersHealthIndicator(ProviderCircuitBreakers providerCircuitBreakers) {
+        return new ProviderHealthIndicator(providerCircuitBreakers);
+    }
+}
@@ -0,0 +1,73 @@
+package com.exchange.rates.controller;
+
+import com.exchange.rates.dto.ConversionRequestDTO;
+import com.exchange.rates.dto.ConversionResultDTO;
+import com.exchange.rates.service.ConversionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:15 AM
+ * Bulk conversion in the reactive mode: the NDJSON request body is decoded record by record as the
+ * response is written, so demand from the client bounds what is buffered on both sides.
+ * Results are encoded here rather than by the JSON encoder, which flushes after every element of a
+ * streaming media type; as plain buffers they are flushed whenever the decoded input runs dry.
+ * {@link ServletConversionController} is its servlet counterpart.
+ */
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ConversionController {
+
+    static final String SNAPSHOT_HEADER = "X-Rate-Snapshot";
+
+    private final ConversionService conversionService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/convert/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> convertStream(@RequestBody Flux<ConversionRequestDTO> requests,
+                                                                ServerWebExchange exchange) {
+        // The newline goes into the same buffer after the value
+        ObjectWriter writer = objectMapper.writerFor(ConversionResultDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        return conversionService.getSnapshot()
+                .map(snapshot -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(SNAPSHOT_HEADER, snapshot.version())
+                        .body(requests.map(request -> encode(snapshot.convert(request), writer, bufferFactory))));
+    }
+
+    private static DataBuffer encode(ConversionResultDTO result, ObjectWriter writer, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(128);
+        try (OutputStream output = buffer.asOutputStream()) {
+            writer.writeValue(output, result);
+            output.write('\n');
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        }
+    }
+}
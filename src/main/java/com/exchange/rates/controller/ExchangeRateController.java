@@ -1,15 +1,35 @@
 package com.exchange.rates.controller;
 
+import com.exchange.rates.dto.ExchangeRateBatchRequestDTO;
+import com.exchange.rates.dto.ExchangeRateBatchResponseDTO;
+import com.exchange.rates.dto.ExchangeRateQueryDTO;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.dto.RateHistoryPointDTO;
+import com.exchange.rates.dto.RateQuoteDTO;
+import com.exchange.rates.exception.ExchangeRateException;
 import com.exchange.rates.service.ExchangeRateService;
+import com.exchange.rates.service.RateHistoryService;
+import com.exchange.rates.service.RateQuoteService;
+import com.exchange.rates.service.RateStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * @author Iman Irajian
  * Date: 5/25/2025 09:20 PM
@@ -20,13 +40,72 @@ import reactor.core.publisher.Mono;
 public class ExchangeRateController {
 
     private final ExchangeRateService exchangeRateService;
+    private final RateStreamService rateStreamService;
+    private final RateHistoryService rateHistoryService;
+    private final RateQuoteService rateQuoteService;
+
+    @Value("${exchange.batch.max-queries:100}")
+    private int maxBatchQueries;
+
+    @Value("${exchange.stream.heartbeat-interval:PT30S}")
+    private Duration heartbeatInterval;
 
     @GetMapping("/exchangeRates/{baseCur}")
     public Mono<ResponseEntity<ExchangeRateResponseDTO>> getExchangeRates(
             @PathVariable String baseCur,
-            @RequestParam(required = false) String symbols) {
-        return exchangeRateService.getExchangeRates(baseCur, symbols)
+            @RequestParam(required = false) String symbols,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return exchangeRateService.getExchangeRates(baseCur, symbols, date)
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
+
+    @GetMapping("/rate/{from}/{to}")
+    public Mono<RateQuoteDTO> getRate(@PathVariable String from, @PathVariable String to) {
+        return rateQuoteService.getQuote(from, to);
+    }
+
+    @PostMapping("/exchangeRates/batch")
+    public Mono<ExchangeRateBatchResponseDTO> getExchangeRatesBatch(
+            @RequestBody ExchangeRateBatchRequestDTO request) {
+        List<ExchangeRateQueryDTO> queries = request.getQueries();
+        if (queries == null || queries.isEmpty()) {
+            throw new ExchangeRateException("At least one query is required");
+        }
+        if (queries.size() > maxBatchQueries) {
+            throw new ExchangeRateException("A batch may contain at most " + maxBatchQueries + " queries");
+        }
+        if (queries.contains(null)) {
+            throw new ExchangeRateException("Batch queries must not be null");
+        }
+        return exchangeRateService.getExchangeRatesBatch(queries);
+    }
+
+    @GetMapping(value = "/exchangeRates/{baseCur}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ExchangeRateResponseDTO>> streamExchangeRates(
+            @PathVariable String baseCur,
+            @RequestParam(required = false) String symbols) {
+        Flux<ServerSentEvent<ExchangeRateResponseDTO>> updates = rateStreamService.streamExchangeRates(baseCur, symbols)
+                .map(rates -> ServerSentEvent.builder(rates)
+                        .event("rates")
+                        .build());
+        // Comment-only heartbeats keep idle connections open and surface dead clients. They start with the
+        // first update, so a failed first load is still answered with an error status, and stop with the updates
+        Flux<ServerSentEvent<ExchangeRateResponseDTO>> heartbeats = Flux.interval(heartbeatInterval, heartbeatInterval)
+                .map(tick -> ServerSentEvent.<ExchangeRateResponseDTO>builder()
+                        .comment("keep-alive")
+                        .build());
+        return updates.publish(shared -> Flux.merge(shared,
+                shared.take(1).thenMany(heartbeats).takeUntilOther(shared.ignoreElements())));
+    }
+
+    @GetMapping(value = "/exchangeRates/{baseCur}/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RateHistoryPointDTO> getExchangeRateHistory(
+            @PathVariable String baseCur,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String symbols,
+            @RequestParam(required = false) String interval) {
+        return rateHistoryService.getHistory(baseCur, from, to, symbols, interval);
+    }
 }
@@ -1,7 +1,9 @@
 package com.exchange.rates.controller;
 
+import com.exchange.rates.config.ProviderCircuitBreakers;
 import com.exchange.rates.dto.MetricsResponseDTO;
 import com.exchange.rates.service.MetricsService;
+import com.exchange.rates.service.aggregation.ProviderRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,9 +20,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class MetricsController {
 
     private final MetricsService metricsService;
+    private final ProviderCircuitBreakers providerCircuitBreakers;
+    private final ProviderRouter providerRouter;
 
     @GetMapping
     public MetricsResponseDTO getMetrics() {
-        return metricsService.getMetrics();
+        MetricsResponseDTO metrics = metricsService.getMetrics();
+        metrics.setCircuitBreakers(providerCircuitBreakers.snapshot());
+        metrics.setRouting(providerRouter.snapshot());
+        return metrics;
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.exchange.rates.controller;
+
+import com.exchange.rates.dto.ConversionRequestDTO;
+import com.exchange.rates.dto.ConversionResultDTO;
+import com.exchange.rates.service.ConversionService;
+import com.exchange.rates.service.ConversionSnapshot;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:20 AM
+ * Bulk conversion in the servlet mode. The request's virtual thread reads one NDJSON record, writes its
+ * result and moves on; blocking reads and writes are the backpressure, and no async dispatch (with its
+ * request timeout) is involved, so streams may run as long as the client keeps sending.
+ */
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServletConversionController {
+
+    private final ConversionService conversionService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/convert/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void convertStream(InputStream body, HttpServletResponse response) throws IOException {
+        ConversionSnapshot snapshot = conversionService.getSnapshot().block();
+        if (snapshot == null) {
+            throw new IllegalStateException("No exchange rate data available from any provider");
+        }
+
+        // Flushing is left to the buffers, not done per record
+        ObjectWriter writer = objectMapper.writerFor(ConversionResultDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(ConversionController.SNAPSHOT_HEADER, snapshot.version());
+        try (MappingIterator<ConversionRequestDTO> requests = objectMapper.readerFor(ConversionRequestDTO.class)
+                .readValues(body);
+             JsonGenerator results = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // Records are separated by the newline; Jackson's default separator would put a space before each later one
+            results.setRootValueSeparator(null);
+            while (requests.hasNextValue()) {
+                writer.writeValue(results, snapshot.convert(requests.nextValue()));
+                results.writeRaw('\n');
+            }
+        }
+    }
+}
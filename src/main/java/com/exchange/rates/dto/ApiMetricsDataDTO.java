@@ -19,4 +19,12 @@ public class ApiMetricsDataDTO {
     private long totalResponses;
     private long failedRequests;
     private long cacheHits;
+    private long hedgedRequests;
+    private long routedCalls;
+    private long skippedCalls;
+    private long probeCalls;
+    private long fallbackCalls;
+    private double latencyP50Ms;
+    private double latencyP95Ms;
+    private double latencyP99Ms;
 }
\ No newline at end of file
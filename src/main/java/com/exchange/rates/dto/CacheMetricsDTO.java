@@ -0,0 +1,21 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:05 AM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheMetricsDTO {
+    private long hits;
+    private long misses;
+    private long evictions;
+}
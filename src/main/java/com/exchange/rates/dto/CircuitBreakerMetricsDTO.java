@@ -0,0 +1,25 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 07:00 PM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBreakerMetricsDTO {
+    private String name;
+    private String state;
+    private float failureRate;
+    private int bufferedCalls;
+    private int failedCalls;
+    private long notPermittedCalls;
+    private int availableConcurrentCalls;
+}
@@ -0,0 +1,21 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:00 AM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionRequestDTO {
+    private String from;
+    private String to;
+    private Double amount;
+}
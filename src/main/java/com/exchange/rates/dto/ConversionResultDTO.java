@@ -0,0 +1,26 @@
+package com.exchange.rates.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:00 AM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConversionResultDTO {
+    private String from;
+    private String to;
+    private Double amount;
+    private Double rate;
+    private Double converted;
+    private String error;
+}
@@ -0,0 +1,26 @@
+package com.exchange.rates.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 03:00 PM
+ * Result of one query in a batch. Exactly one of {@code result} and {@code error} is set,
+ * so a failing query does not fail the rest of the batch.
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExchangeRateBatchItemDTO {
+    private String base;
+    private String symbols;
+    private ExchangeRateResponseDTO result;
+    private ErrorResponseDTO error;
+}
@@ -0,0 +1,21 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 03:00 PM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateBatchResponseDTO {
+    private List<ExchangeRateBatchItemDTO> results;
+}
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,4 +26,6 @@ public class ExchangeRateResponseDTO {
     private String base;
     private Map<String, Double> rates;
     private Instant timestamp;
+    private List<String> providers;
+    private LocalDate date;
 }
\ No newline at end of file
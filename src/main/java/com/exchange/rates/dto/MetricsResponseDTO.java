@@ -19,4 +19,12 @@ import java.util.List;
 public class MetricsResponseDTO {
     private long totalQueries;
     private List<ApiMetricsDTO> apis;
+    private CacheMetricsDTO localCache;
+    private long coalescedRequests;
+    private long staleHits;
+    private long backgroundRefreshes;
+    private long quorumCutoffs;
+    private long deadlineCutoffs;
+    private List<CircuitBreakerMetricsDTO> circuitBreakers;
+    private RoutingMetricsDTO routing;
 }
\ No newline at end of file
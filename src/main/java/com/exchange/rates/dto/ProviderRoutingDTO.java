@@ -0,0 +1,22 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 08:00 PM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderRoutingDTO {
+    private String name;
+    private int samples;
+    private double meanLatencyMs;
+    private double errorRate;
+}
@@ -0,0 +1,23 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:40 PM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateHistoryPointDTO {
+    private Instant timestamp;
+    private Map<String, Double> rates;
+}
@@ -0,0 +1,25 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:45 AM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateQuoteDTO {
+    private String from;
+    private String to;
+    private double rate;
+    private Instant timestamp;
+    private String version;
+}
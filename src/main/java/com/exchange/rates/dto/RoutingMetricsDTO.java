@@ -0,0 +1,22 @@
+package com.exchange.rates.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 08:00 PM
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutingMetricsDTO {
+    private String mode;
+    private List<ProviderRoutingDTO> providers;
+}
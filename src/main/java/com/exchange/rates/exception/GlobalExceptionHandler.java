@@ -1,6 +1,7 @@
 package com.exchange.rates.exception;
 
 import com.exchange.rates.dto.ErrorResponseDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,9 +14,11 @@ import java.time.Instant;
 /**
  * @author Iman Irajian
  * Date: 5/25/2025 09:20 PM
+ * Error responses of the servlet mode; {@link ReactiveExceptionHandler} is its reactive counterpart.
  */
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(ExchangeRateException.class)
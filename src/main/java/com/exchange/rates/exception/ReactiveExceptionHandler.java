@@ -0,0 +1,48 @@
+package com.exchange.rates.exception;
+
+import com.exchange.rates.dto.ErrorResponseDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 09:00 PM
+ * Error responses of the reactive mode, same bodies as {@link GlobalExceptionHandler}.
+ */
+
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(ExchangeRateException.class)
+    public ResponseEntity<ErrorResponseDTO> handleExchangeRateException(
+            ExchangeRateException ex, ServerWebExchange exchange) {
+        ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message(ex.getMessage())
+                .timestamp(Instant.now().toEpochMilli())
+                .path(exchange.getRequest().getPath().value())
+                .build();
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDTO> handleGenericException(
+            Exception ex, ServerWebExchange exchange) {
+        ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder()
+                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .message("An unexpected error occurred")
+                .details(ex.getMessage())
+                .timestamp(Instant.now().toEpochMilli())
+                .path(exchange.getRequest().getPath().value())
+                .build();
+        return new ResponseEntity<>(errorResponseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,12 @@
+package com.exchange.rates.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:05 AM
+ */
+
+public interface ConversionService {
+    Mono<ConversionSnapshot> getSnapshot();
+}
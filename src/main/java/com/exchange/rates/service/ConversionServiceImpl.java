@@ -0,0 +1,33 @@
+package com.exchange.rates.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:05 AM
+ * Snapshots are built from the full table of one base, served through the regular cache tiers.
+ * The version names that table: its base and the time it was aggregated.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class ConversionServiceImpl implements ConversionService {
+
+    private final ExchangeRateService exchangeRateService;
+
+    @Value("${exchange.conversion.base:EUR}")
+    private String conversionBase;
+
+    @Override
+    public Mono<ConversionSnapshot> getSnapshot() {
+        String base = CurrencySymbols.normalizeCurrency(conversionBase);
+        return exchangeRateService.getExchangeRates(base, null)
+                .map(table -> new ConversionSnapshot(base + "@" + table.getTimestamp(), base,
+                        table.getRates() != null ? table.getRates() : Map.of()));
+    }
+}
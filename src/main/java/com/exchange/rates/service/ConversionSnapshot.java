@@ -0,0 +1,64 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ConversionRequestDTO;
+import com.exchange.rates.dto.ConversionResultDTO;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:05 AM
+ * One immutable rate table that a whole conversion stream is priced against, so every record of a
+ * stream sees the same rates and no record needs a cache lookup. Pairs are crossed through the
+ * table's base: rate(from -> to) = rate(base -> to) / rate(base -> from).
+ */
+
+public final class ConversionSnapshot {
+
+    private final String version;
+    private final Map<String, Double> rates;
+
+    public ConversionSnapshot(String version, String base, Map<String, Double> baseRates) {
+        this.version = version;
+        this.rates = new HashMap<>(baseRates);
+        this.rates.put(base, 1.0);
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public ConversionResultDTO convert(ConversionRequestDTO request) {
+        ConversionResultDTO result = ConversionResultDTO.builder()
+                .from(request.getFrom())
+                .to(request.getTo())
+                .amount(request.getAmount())
+                .build();
+        if (request.getAmount() == null) {
+            result.setError("Amount is required");
+            return result;
+        }
+        Double fromRate = rateOf(request.getFrom());
+        Double toRate = rateOf(request.getTo());
+        if (fromRate == null || toRate == null) {
+            result.setError("Unsupported currency " + (fromRate == null ? request.getFrom() : request.getTo()));
+            return result;
+        }
+        double rate = toRate / fromRate;
+        result.setRate(rate);
+        result.setConverted(request.getAmount() * rate);
+        return result;
+    }
+
+    private Double rateOf(String currency) {
+        if (currency == null) {
+            return null;
+        }
+        Double rate = rates.get(currency);
+        if (rate == null) {
+            rate = rates.get(CurrencySymbols.normalizeCurrency(currency));
+        }
+        return rate != null && rate > 0.0 ? rate : null;
+    }
+}
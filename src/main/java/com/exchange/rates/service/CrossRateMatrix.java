@@ -0,0 +1,128 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.aggregation.CurrencyIndex;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:40 AM
+ * Every cross rate of one aggregated table, precomputed into a dense row-major matrix of primitive doubles:
+ * {@code rate(from -> to) = rate(base -> to) / rate(base -> from)}. Rows and columns are the currencies
+ * of the table, reached from their {@link CurrencyIndex} slot through {@code positions}, so a quote is
+ * two array reads and one matrix read with no boxing and no hashing beyond the slot lookup.
+ * Instances never change after construction and are safe to share between threads.
+ */
+
+public final class CrossRateMatrix {
+
+    private final String base;
+    private final Instant timestamp;
+    private final String version;
+    private final int size;
+    private final int[] positions;
+    private final double[] rates;
+
+    private CrossRateMatrix(String base, Instant timestamp, int size, int[] positions, double[] rates) {
+        this.base = base;
+        this.timestamp = timestamp;
+        this.version = base + "@" + timestamp;
+        this.size = size;
+        this.positions = positions;
+        this.rates = rates;
+    }
+
+    /**
+     * Builds the matrix of a table. Rates that are missing, not finite or not positive, and codes
+     * without a slot, are left out; the base itself is always included.
+     */
+    public static CrossRateMatrix of(ExchangeRateResponseDTO table) {
+        Map<String, Double> baseRates = table.getRates() != null ? table.getRates() : Map.of();
+        // Slots first: codes seen for the first time, e.g. in a table read back from Redis after a restart,
+        // are only assigned one here, so positions can only be sized afterwards
+        int[] slots = new int[baseRates.size() + 1];
+        double[] column = new double[baseRates.size() + 1];
+        int candidates = 0;
+        int maxSlot = -1;
+
+        int baseSlot = CurrencyIndex.slotOf(table.getBase());
+        if (baseSlot >= 0) {
+            slots[candidates] = baseSlot;
+            column[candidates++] = 1.0;
+            maxSlot = baseSlot;
+        }
+        for (Map.Entry<String, Double> entry : baseRates.entrySet()) {
+            Double rate = entry.getValue();
+            if (entry.getKey() == null || rate == null || !Double.isFinite(rate) || rate <= 0.0) {
+                continue;
+            }
+            int slot = CurrencyIndex.slotOf(entry.getKey());
+            if (slot >= 0) {
+                slots[candidates] = slot;
+                column[candidates++] = rate;
+                maxSlot = Math.max(maxSlot, slot);
+            }
+        }
+
+        int[] positions = new int[maxSlot + 1];
+        Arrays.fill(positions, -1);
+        int size = 0;
+        for (int i = 0; i < candidates; i++) {
+            if (positions[slots[i]] < 0) {
+                positions[slots[i]] = size;
+                column[size++] = column[i];
+            }
+        }
+
+        double[] rates = new double[size * size];
+        for (int from = 0; from < size; from++) {
+            int row = from * size;
+            for (int to = 0; to < size; to++) {
+                rates[row + to] = column[to] / column[from];
+            }
+        }
+        return new CrossRateMatrix(table.getBase(), table.getTimestamp(), size, positions, rates);
+    }
+
+    /**
+     * Takes canonical codes, see {@link CurrencySymbols#normalizeCurrency(String)}.
+     *
+     * @return the rate, or {@code NaN} when either currency is not in the matrix
+     */
+    public double rate(String from, String to) {
+        int fromPosition = positionOf(from);
+        int toPosition = positionOf(to);
+        return fromPosition < 0 || toPosition < 0 ? Double.NaN : rates[fromPosition * size + toPosition];
+    }
+
+    public boolean contains(String currency) {
+        return positionOf(currency) >= 0;
+    }
+
+    private int positionOf(String currency) {
+        int slot = CurrencyIndex.existingSlotOf(currency);
+        return slot >= 0 && slot < positions.length ? positions[slot] : -1;
+    }
+
+    public String base() {
+        return base;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Names the table the matrix was built from: its base and the time it was aggregated.
+     */
+    public String version() {
+        return version;
+    }
+}
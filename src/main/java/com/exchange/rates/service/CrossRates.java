@@ -0,0 +1,44 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 01:10 PM
+ * Derives the rate table of any base from a pivot table by cross division:
+ * rate(base -> x) = rate(pivot -> x) / rate(pivot -> base).
+ */
+
+public final class CrossRates {
+
+    private CrossRates() {
+    }
+
+    /**
+     * @return the derived table, or {@code null} when the pivot table has no usable rate for the base
+     */
+    public static ExchangeRateResponseDTO derive(ExchangeRateResponseDTO pivotTable, String base) {
+        Map<String, Double> pivotRates = pivotTable.getRates();
+        Double pivotToBase = pivotRates != null ? pivotRates.get(base) : null;
+        if (pivotToBase == null || pivotToBase == 0.0) {
+            return null;
+        }
+
+        Map<String, Double> rates = new HashMap<>(pivotRates.size() + 1);
+        for (Map.Entry<String, Double> entry : pivotRates.entrySet()) {
+            rates.put(entry.getKey(), entry.getValue() / pivotToBase);
+        }
+        rates.put(pivotTable.getBase(), 1.0 / pivotToBase);
+
+        return ExchangeRateResponseDTO.builder()
+                .datasource(pivotTable.getDatasource() + " (derived via " + pivotTable.getBase() + ")")
+                .base(base)
+                .rates(rates)
+                .timestamp(pivotTable.getTimestamp())
+                .providers(pivotTable.getProviders())
+                .build();
+    }
+}
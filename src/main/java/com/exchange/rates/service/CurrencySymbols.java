@@ -0,0 +1,62 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 12:20 PM
+ * Canonical form for currency codes and symbol lists, plus slicing of a cached full
+ * rate table down to the requested symbols. {@code usd,nzd}, {@code NZD, USD} and
+ * {@code USD,NZD} all normalize to {@code [NZD, USD]}; an empty list means "all".
+ */
+
+public final class CurrencySymbols {
+
+    private CurrencySymbols() {
+    }
+
+    public static String normalizeCurrency(String currency) {
+        return currency == null ? null : currency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static List<String> normalizeSymbols(String symbols) {
+        if (symbols == null || symbols.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(symbols.split(","))
+                .map(CurrencySymbols::normalizeCurrency)
+                .filter(symbol -> !symbol.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    public static ExchangeRateResponseDTO slice(ExchangeRateResponseDTO table, List<String> symbols) {
+        if (symbols.isEmpty() || table.getRates() == null) {
+            return table;
+        }
+
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            Double rate = table.getRates().get(symbol);
+            if (rate != null) {
+                rates.put(symbol, rate);
+            }
+        }
+
+        return ExchangeRateResponseDTO.builder()
+                .datasource(table.getDatasource())
+                .base(table.getBase())
+                .rates(rates)
+                .timestamp(table.getTimestamp())
+                .providers(table.getProviders())
+                .date(table.getDate())
+                .build();
+    }
+}
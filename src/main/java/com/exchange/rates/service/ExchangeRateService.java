@@ -1,8 +1,13 @@
 package com.exchange.rates.service;
 
+import com.exchange.rates.dto.ExchangeRateBatchResponseDTO;
+import com.exchange.rates.dto.ExchangeRateQueryDTO;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * @author Iman Irajian
  * Date: 5/25/2025 09:20 PM
@@ -11,5 +16,9 @@ import reactor.core.publisher.Mono;
 public interface ExchangeRateService {
     Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols);
 
+    Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols, LocalDate date);
+
     Mono<ExchangeRateResponseDTO> getFreshExchangeRates(String baseCurrency, String symbols);
+
+    Mono<ExchangeRateBatchResponseDTO> getExchangeRatesBatch(List<ExchangeRateQueryDTO> queries);
 }
\ No newline at end of file
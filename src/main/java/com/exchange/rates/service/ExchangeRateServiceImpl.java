@@ -1,20 +1,38 @@
 package com.exchange.rates.service;
 
+import com.exchange.rates.dto.ErrorResponseDTO;
+import com.exchange.rates.dto.ExchangeRateBatchItemDTO;
+import com.exchange.rates.dto.ExchangeRateBatchResponseDTO;
+import com.exchange.rates.dto.ExchangeRateQueryDTO;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.exception.ExchangeRateException;
+import com.exchange.rates.service.aggregation.ProviderFanOut;
+import com.exchange.rates.service.aggregation.RateAccumulator;
+import com.exchange.rates.service.cache.CacheFreshnessPolicy;
+import com.exchange.rates.service.cache.CacheFreshnessPolicy.Freshness;
+import com.exchange.rates.service.cache.HistoricalRateCache;
+import com.exchange.rates.service.cache.LocalRateCache;
+import com.exchange.rates.service.cache.RateTableStore;
+import com.exchange.rates.service.cache.RequestCoalescer;
 import com.exchange.rates.service.client.ExchangeRateClient;
+import com.exchange.rates.service.history.RateHistoryStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
 
 /**
  * @author Iman Irajian
@@ -28,93 +46,374 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
 
     private final List<ExchangeRateClient> exchangeRateClients;
     private final MetricsService metricsService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ProviderFanOut providerFanOut;
+    private final RateTableStore rateTableStore;
+    private final LocalRateCache localRateCache;
+    private final RequestCoalescer requestCoalescer;
+    private final CacheFreshnessPolicy freshnessPolicy;
+    private final RateHistoryStore rateHistoryStore;
+    private final HistoricalRateCache historicalRateCache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
 
-    private static final Duration CACHE_TTL = Duration.ofMinutes(10); // configurable TTL
+    @Value("${exchange.rates.triangulation.enabled:false}")
+    private boolean triangulationEnabled;
 
-    private String getCacheKey(String baseCurrency, String symbols) {
-        return String.format("exchangeRates::%s::%s", baseCurrency, symbols);
+    @Value("${exchange.rates.triangulation.pivot:EUR}")
+    private String pivotCurrency;
+
+    static String getCacheKey(String baseCurrency) {
+        return String.format("exchangeRates::%s", baseCurrency);
     }
 
     @Override
     public Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols) {
-        String cacheKey = getCacheKey(baseCurrency, symbols);
-
-        // Try to retrieve from cache
-        Object cached = redisTemplate.opsForValue().get(cacheKey);
-        if (cached instanceof ExchangeRateResponseDTO cachedResponse) {
-            log.info("Cache hit for key: {}", cacheKey);
-            for (ExchangeRateClient exchangeRateClient : exchangeRateClients) {
-                String client = exchangeRateClient.getDataSourceName();
-                metricsService.incrementRequestCount(client);
-                metricsService.incrementResponseCount(client);
-                metricsService.incrementCacheHit(client);
+        return getExchangeRates(baseCurrency, symbols, null);
+    }
+
+    /**
+     * A date before today (UTC) is served from the historical tier, today's date or none from the live one.
+     */
+    @Override
+    public Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols, LocalDate date) {
+        String base = CurrencySymbols.normalizeCurrency(baseCurrency);
+        List<String> requestedSymbols = CurrencySymbols.normalizeSymbols(symbols);
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (date != null && date.isAfter(today)) {
+            return Mono.error(new ExchangeRateException("Date must not be in the future: " + date));
+        }
+        Mono<ExchangeRateResponseDTO> table = date != null && date.isBefore(today)
+                ? getHistoricalRateTable(base, date)
+                : resolveRateTable(base, requestedSymbols);
+        return table.map(rates -> CurrencySymbols.slice(rates, requestedSymbols));
+    }
+
+    /**
+     * Past days never change, so a table is fetched upstream once, under the same coalescing as live
+     * tables, and kept in the historical tier for good. Only a table every selected provider contributed
+     * to is kept: one cut short by a failure, the deadline or the quorum is served but fetched again
+     * next time. Triangulation does not apply: each base of a day is fetched directly.
+     */
+    private Mono<ExchangeRateResponseDTO> getHistoricalRateTable(String base, LocalDate date) {
+        return historicalRateCache.get(base, date)
+                .doOnNext(cached -> {
+                    log.debug("Historical cache hit for {} on {}", base, date);
+                    recordCacheHit();
+                })
+                .switchIfEmpty(requestCoalescer.coalesce(HistoricalRateCache.getCacheKey(base, date),
+                        () -> providerFanOut.fetch(base, date)
+                                .flatMap(accumulator -> toRateTable(base, date, accumulator)
+                                        .flatMap(table -> keepIfComplete(base, date, accumulator, table)))));
+    }
+
+    private Mono<ExchangeRateResponseDTO> keepIfComplete(String base, LocalDate date, RateAccumulator accumulator,
+                                                         ExchangeRateResponseDTO table) {
+        if (!accumulator.complete()) {
+            log.info("Historical rates for {} on {} are incomplete with {} providers, not caching them",
+                    base, date, accumulator.responses());
+            return Mono.just(table);
+        }
+        return historicalRateCache.put(base, date, table).thenReturn(table);
+    }
+
+    /**
+     * In triangulation mode every base is derived from the cached pivot table, so upstream
+     * traffic stays at one fan-out per pivot no matter how many bases clients ask for.
+     * Currencies missing from the pivot table fall back to a direct fetch.
+     */
+    private Mono<ExchangeRateResponseDTO> resolveRateTable(String base, List<String> symbols) {
+        String tableBase = tableBaseFor(base);
+        List<String> tableSymbols = symbols;
+        if (!tableBase.equals(base) && !symbols.isEmpty()) {
+            // Cross rates are computed against the pivot rate of the base
+            tableSymbols = new ArrayList<>(symbols);
+            tableSymbols.add(base);
+        }
+        return deriveIfNeeded(getRateTable(tableBase, tableSymbols), tableBase, base, symbols);
+    }
+
+    /**
+     * The cached table a base is served from: the base itself, or the pivot in triangulation mode.
+     */
+    private String tableBaseFor(String base) {
+        return triangulationEnabled ? CurrencySymbols.normalizeCurrency(pivotCurrency) : base;
+    }
+
+    private Mono<ExchangeRateResponseDTO> deriveIfNeeded(Mono<ExchangeRateResponseDTO> table,
+                                                         String tableBase, String base, List<String> symbols) {
+        if (tableBase.equals(base)) {
+            return table;
+        }
+
+        return table
+                .mapNotNull(pivotTable -> CrossRates.derive(pivotTable, base))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.info("No {} rate in {} pivot table, fetching it directly", base, tableBase);
+                    return getRateTable(base, symbols);
+                }));
+    }
+
+    /**
+     * Resolves all queries of a batch together: each distinct table is looked up once in the
+     * local cache, the remaining ones with a single Redis read, and only what is still missing
+     * is fetched upstream, once per table. Failures are reported per query.
+     */
+    @Override
+    public Mono<ExchangeRateBatchResponseDTO> getExchangeRatesBatch(List<ExchangeRateQueryDTO> queries) {
+        return Mono.defer(() -> resolveBatch(queries));
+    }
+
+    private Mono<ExchangeRateBatchResponseDTO> resolveBatch(List<ExchangeRateQueryDTO> queries) {
+        Set<String> tableBases = new LinkedHashSet<>();
+        for (ExchangeRateQueryDTO query : queries) {
+            String base = CurrencySymbols.normalizeCurrency(query.getBase());
+            if (base != null && !base.isEmpty()) {
+                tableBases.add(tableBaseFor(base));
             }
-            return Mono.just(cachedResponse);
         }
 
-        log.info("Cache miss for key: {}", cacheKey);
-        return getFreshExchangeRates(baseCurrency, symbols)
-                .doOnSuccess(response -> {
-                    if (response != null) {
-                        redisTemplate.opsForValue().set(cacheKey, response, CACHE_TTL);
-                        log.info("Cached response for key: {}", cacheKey);
+        Map<String, ExchangeRateResponseDTO> tables = new ConcurrentHashMap<>();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+
+        return loadRateTables(tableBases, tables, failures)
+                .thenMany(Flux.fromIterable(queries)
+                        .concatMap(query -> resolveBatchItem(query, tables, failures)))
+                .collectList()
+                .map(items -> ExchangeRateBatchResponseDTO.builder()
+                        .results(items)
+                        .build());
+    }
+
+    private Mono<Void> loadRateTables(Set<String> tableBases,
+                                      Map<String, ExchangeRateResponseDTO> tables,
+                                      Map<String, Throwable> failures) {
+        List<String> misses = new ArrayList<>();
+        for (String tableBase : tableBases) {
+            String cacheKey = getCacheKey(tableBase);
+            ExchangeRateResponseDTO local = readFromLocalCache(cacheKey);
+            if (local != null && serveCached(cacheKey, tableBase, local)) {
+                tables.put(tableBase, local);
+            } else {
+                misses.add(tableBase);
+            }
+        }
+        if (misses.isEmpty()) {
+            return Mono.empty();
+        }
+
+        long start = System.nanoTime();
+        return rateTableStore.readAll(misses)
+                .onErrorResume(e -> {
+                    log.warn("Failed to read tables {} from Redis: {}", misses, e.getMessage());
+                    return Mono.just(Map.of());
+                })
+                .flatMapMany(stored -> {
+                    long elapsed = System.nanoTime() - start;
+                    List<String> remaining = new ArrayList<>();
+                    for (String tableBase : misses) {
+                        String cacheKey = getCacheKey(tableBase);
+                        ExchangeRateResponseDTO cached = stored.get(tableBase);
+                        metricsService.recordCacheLookup("redis", cached != null ? "hit" : "miss", elapsed);
+                        if (cached != null && serveCached(cacheKey, tableBase, cached)) {
+                            localRateCache.put(cacheKey, cached);
+                            tables.put(tableBase, cached);
+                        } else {
+                            remaining.add(tableBase);
+                        }
                     }
-                });
+                    return Flux.fromIterable(remaining);
+                })
+                .flatMap(tableBase -> {
+                    String cacheKey = getCacheKey(tableBase);
+                    return requestCoalescer.coalesce(cacheKey, () -> fetchAndCache(cacheKey, tableBase))
+                            .doOnNext(table -> tables.put(tableBase, table))
+                            .onErrorResume(e -> {
+                                failures.put(tableBase, e);
+                                return Mono.empty();
+                            });
+                })
+                .then();
+    }
+
+    private Mono<ExchangeRateBatchItemDTO> resolveBatchItem(ExchangeRateQueryDTO query,
+                                                            Map<String, ExchangeRateResponseDTO> tables,
+                                                            Map<String, Throwable> failures) {
+        String base = CurrencySymbols.normalizeCurrency(query.getBase());
+        if (base == null || base.isEmpty()) {
+            return Mono.just(batchError(query, new ExchangeRateException("Base currency is required")));
+        }
+
+        String tableBase = tableBaseFor(base);
+        ExchangeRateResponseDTO table = tables.get(tableBase);
+        Mono<ExchangeRateResponseDTO> resolved = table != null
+                ? deriveIfNeeded(Mono.just(table), tableBase, base, List.of())
+                : Mono.error(failures.getOrDefault(tableBase,
+                        new RuntimeException("No exchange rate data available from any provider")));
+
+        List<String> requestedSymbols = CurrencySymbols.normalizeSymbols(query.getSymbols());
+        return resolved
+                .map(rates -> ExchangeRateBatchItemDTO.builder()
+                        .base(query.getBase())
+                        .symbols(query.getSymbols())
+                        .result(CurrencySymbols.slice(rates, requestedSymbols))
+                        .build())
+                .onErrorResume(e -> Mono.just(batchError(query, e)));
+    }
+
+    private ExchangeRateBatchItemDTO batchError(ExchangeRateQueryDTO query, Throwable e) {
+        HttpStatus status = e instanceof ExchangeRateException ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ExchangeRateBatchItemDTO.builder()
+                .base(query.getBase())
+                .symbols(query.getSymbols())
+                .error(ErrorResponseDTO.of(status.value(), e.getMessage()))
+                .build();
+    }
+
+    /**
+     * Resolves the aggregated rate table for a base. Every symbol subset of the same
+     * base is served from this one cached table, so a base costs one upstream round trip.
+     * With a hash store only the requested symbols are read from Redis, such partial
+     * tables are not kept in the local cache.
+     */
+    private Mono<ExchangeRateResponseDTO> getRateTable(String base, List<String> symbols) {
+        String cacheKey = getCacheKey(base);
+
+        return Mono.defer(() -> {
+            // Try the in-process cache first, it saves the Redis round trip for hot keys
+            ExchangeRateResponseDTO local = readFromLocalCache(cacheKey);
+            if (local != null && serveCached(cacheKey, base, local)) {
+                log.debug("Local cache hit for key: {}", cacheKey);
+                return Mono.just(local);
+            }
+
+            // Try to retrieve from cache
+            return readFromRedis(base, symbols)
+                    .filter(cachedResponse -> serveCached(cacheKey, base, cachedResponse))
+                    .doOnNext(cachedResponse -> {
+                        log.info("Cache hit for key: {}", cacheKey);
+                        if (symbols.isEmpty() || !rateTableStore.readsPartialTables()) {
+                            localRateCache.put(cacheKey, cachedResponse);
+                        }
+                    })
+                    .switchIfEmpty(requestCoalescer.coalesce(cacheKey, () -> fetchAndCache(cacheKey, base)));
+        });
+    }
+
+    private ExchangeRateResponseDTO readFromLocalCache(String cacheKey) {
+        long start = System.nanoTime();
+        ExchangeRateResponseDTO local = localRateCache.get(cacheKey);
+        metricsService.recordCacheLookup("local", local != null ? "hit" : "miss", System.nanoTime() - start);
+        return local;
+    }
+
+    private Mono<ExchangeRateResponseDTO> readFromRedis(String base, List<String> symbols) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return rateTableStore.read(base, symbols)
+                    .onErrorResume(e -> {
+                        log.warn("Failed to read table {} from Redis: {}", base, e.getMessage());
+                        return Mono.empty();
+                    })
+                    .doOnSuccess(value -> metricsService.recordCacheLookup(
+                            "redis", value != null ? "hit" : "miss", System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Stale-while-revalidate: anything short of the hard TTL is served immediately, and a
+     * single background refresh is started once the entry is stale or about to become stale.
+     *
+     * @return false when the entry is past its hard TTL and must be treated as a miss
+     */
+    private boolean serveCached(String cacheKey, String base, ExchangeRateResponseDTO cached) {
+        Freshness freshness = freshnessPolicy.evaluate(cacheKey, cached.getTimestamp(), Instant.now());
+        if (freshness == Freshness.EXPIRED) {
+            return false;
+        }
+        if (freshness == Freshness.STALE) {
+            metricsService.incrementStaleHit();
+        }
+        if (freshness != Freshness.FRESH) {
+            refreshInBackground(cacheKey, base);
+        }
+        recordCacheHit();
+        return true;
+    }
+
+    private void refreshInBackground(String cacheKey, String base) {
+        if (!refreshing.add(cacheKey)) {
+            return;
+        }
+
+        log.info("Refreshing key {} in the background", cacheKey);
+        metricsService.incrementBackgroundRefresh();
+        requestCoalescer.coalesce(cacheKey, () -> fetchAndCache(cacheKey, base))
+                .doFinally(signal -> refreshing.remove(cacheKey))
+                .subscribe(
+                        refreshed -> log.debug("Background refresh of key {} completed", cacheKey),
+                        e -> log.warn("Background refresh of key {} failed: {}", cacheKey, e.getMessage()));
+    }
+
+    private Mono<ExchangeRateResponseDTO> fetchAndCache(String cacheKey, String base) {
+        log.info("Cache miss for key: {}", cacheKey);
+        return fetchRateTable(base)
+                .flatMap(response -> rateTableStore.write(base, response, freshnessPolicy.redisTtl())
+                        .doOnNext(stored -> log.info("Cached response for key: {}", cacheKey))
+                        .onErrorResume(e -> {
+                            log.warn("Failed to write key {} to Redis: {}", cacheKey, e.getMessage());
+                            return Mono.empty();
+                        })
+                        .then(Mono.fromRunnable(() -> localRateCache.put(cacheKey, response)))
+                        .thenReturn(response));
+    }
+
+    private void recordCacheHit() {
+        for (ExchangeRateClient exchangeRateClient : exchangeRateClients) {
+            String client = exchangeRateClient.getDataSourceName();
+            metricsService.incrementRequestCount(client);
+            metricsService.incrementResponseCount(client);
+            metricsService.incrementCacheHit(client);
+        }
     }
 
     @Override
     public Mono<ExchangeRateResponseDTO> getFreshExchangeRates(String baseCurrency, String symbols) {
-        return Flux.fromIterable(exchangeRateClients)
-                .flatMap(client -> {
-                    metricsService.incrementRequestCount(client.getDataSourceName());
-                    return client.getExchangeRates(baseCurrency, symbols)
-                            .doOnSuccess(response -> {
-                                if (response != null) {
-                                    metricsService.incrementResponseCount(client.getDataSourceName());
-                                } else {
-                                    metricsService.incrementFailedCount(client.getDataSourceName());
-                                }
-                            })
-                            .onErrorResume(e -> Mono.empty());
-                })
-                .collectList()
-                .flatMap(responses -> {
-                    if (responses.isEmpty()) {
-                        return Mono.error(new RuntimeException("No exchange rate data available from any provider"));
-                    }
+        List<String> requestedSymbols = CurrencySymbols.normalizeSymbols(symbols);
 
-                    // Calculate average rates
-                    Map<String, Double> averageRates = calculateAverageRates(responses);
+        return fetchRateTable(CurrencySymbols.normalizeCurrency(baseCurrency))
+                .map(table -> CurrencySymbols.slice(table, requestedSymbols));
+    }
 
-                    ExchangeRateResponseDTO response = ExchangeRateResponseDTO.builder()
-                            .datasource("Aggregated from multiple sources")
-                            .base(baseCurrency)
-                            .rates(averageRates)
-                            .build();
+    private Mono<ExchangeRateResponseDTO> fetchRateTable(String base) {
+        return fetchRateTable(base, null);
+    }
 
-                    return Mono.just(response);
-                });
+    private Mono<ExchangeRateResponseDTO> fetchRateTable(String base, LocalDate date) {
+        return providerFanOut.fetch(base, date)
+                .flatMap(accumulator -> toRateTable(base, date, accumulator));
     }
 
-    private Map<String, Double> calculateAverageRates(List<ExchangeRateResponseDTO> responses) {
-        Map<String, List<Double>> ratesByCurrency = new ConcurrentHashMap<>();
+    private Mono<ExchangeRateResponseDTO> toRateTable(String base, LocalDate date, RateAccumulator accumulator) {
+        if (accumulator.responses() == 0) {
+            return Mono.error(new RuntimeException("No exchange rate data available from any provider"));
+        }
+
+        Map<String, Double> averageRates = accumulator.averages();
+        metricsService.recordAggregation(accumulator.foldNanos());
 
-        responses.stream()
-                .filter(r -> r.getRates() != null)
-                .flatMap(r -> r.getRates().entrySet().stream())
-                .forEach(entry -> {
-                    ratesByCurrency.computeIfAbsent(entry.getKey(), k -> new CopyOnWriteArrayList<>())
-                            .add(entry.getValue());
-                });
+        ExchangeRateResponseDTO response = ExchangeRateResponseDTO.builder()
+                .datasource("Aggregated from multiple sources")
+                .base(base)
+                .rates(averageRates)
+                .timestamp(Instant.now())
+                .providers(List.copyOf(accumulator.providers()))
+                .date(date)
+                .build();
+        if (date == null) {
+            // The history is a timeline of live snapshots
+            rateHistoryStore.append(response);
+        }
 
-        return ratesByCurrency.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().stream()
-                                .mapToDouble(Double::doubleValue)
-                                .average()
-                                .orElse(0.0)
-                ));
+        return Mono.just(response);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.exchange.rates.service;
 
 import com.exchange.rates.dto.MetricsResponseDTO;
 
+import java.time.Duration;
+
 /**
  * @author Iman Irajian
  * Date: 5/25/2025 09:20 PM
@@ -16,5 +18,41 @@ public interface MetricsService {
 
     void incrementCacheHit(String apiName);
 
+    void incrementLocalCacheHit();
+
+    void incrementLocalCacheMiss();
+
+    void incrementLocalCacheEviction();
+
+    void incrementCoalescedRequest();
+
+    void incrementStaleHit();
+
+    void incrementBackgroundRefresh();
+
+    void incrementHedgedRequest(String apiName);
+
+    /**
+     * @param reason {@code quorum} or {@code deadline}
+     */
+    void incrementFanOutCutoff(String reason);
+
+    /**
+     * @param decision {@code selected}, {@code skipped}, {@code probe} or {@code fallback}
+     */
+    void incrementRoutingDecision(String apiName, String decision);
+
+    void recordProviderLatency(String apiName, String outcome, long durationNanos);
+
+    void recordCacheLookup(String tier, String outcome, long durationNanos);
+
+    void recordAggregation(long durationNanos);
+
+    /**
+     * @return the provider's recent latency at the percentile (0.5, 0.95 or 0.99) of successful calls,
+     * or {@code null} while there are too few samples
+     */
+    Duration getProviderLatency(String apiName, double percentile);
+
     MetricsResponseDTO getMetrics();
 }
\ No newline at end of file
@@ -2,120 +2,309 @@ package com.exchange.rates.service;
 
 import com.exchange.rates.dto.ApiMetricsDTO;
 import com.exchange.rates.dto.ApiMetricsDataDTO;
+import com.exchange.rates.dto.CacheMetricsDTO;
 import com.exchange.rates.dto.MetricsResponseDTO;
-import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * @author Iman Irajian
  * Date: 5/25/2025 09:20 PM
+ * Counters are {@link LongAdder}s registered once with Micrometer as {@link FunctionCounter}s,
+ * so an increment is a striped add with no allocation, no map bin lock and no registry lookup.
+ * DTOs are only built when {@link #getMetrics()} is called.
+ * Latencies are Micrometer {@link Timer}s with a published percentile histogram and SLO buckets,
+ * so {@code /actuator/prometheus} exposes the same distributions that {@code /metrics} summarizes.
  */
 
 @Service
-@RequiredArgsConstructor
 public class MetricsServiceImpl implements MetricsService {
 
+    private static final String[] PROVIDER_OUTCOMES = {"success", "empty", "error"};
+    private static final String[] ROUTING_DECISIONS = {"selected", "skipped", "probe", "fallback"};
+    private static final String[] CACHE_TIERS = {"local", "redis", "historical", "disk"};
+    private static final String[] CACHE_OUTCOMES = {"hit", "miss"};
+    private static final long MIN_LATENCY_SAMPLES = 20;
+
     private final MeterRegistry meterRegistry;
-    private final ConcurrentHashMap<String, ApiMetricsDataDTO> metricsMap = new ConcurrentHashMap<>();
-    private final AtomicLong totalQueries = new AtomicLong(0);
+    private final Duration[] serviceLevelObjectives;
+    private final Map<String, Map<String, Timer>> cacheLookupTimers = new HashMap<>();
+    private final Timer aggregationTimer;
+    private final ConcurrentHashMap<String, ApiCounters> apiCounters = new ConcurrentHashMap<>();
+    private final LongAdder totalQueries = new LongAdder();
+    private final LongAdder localCacheHits;
+    private final LongAdder localCacheMisses;
+    private final LongAdder localCacheEvictions;
+    private final LongAdder coalescedRequests;
+    private final LongAdder staleHits;
+    private final LongAdder backgroundRefreshes;
+    private final LongAdder quorumCutoffs;
+    private final LongAdder deadlineCutoffs;
+
+    public MetricsServiceImpl(MeterRegistry meterRegistry,
+                              @Value("${exchange.metrics.slo:50ms,100ms,250ms,500ms,1s,2s}") Duration[] serviceLevelObjectives) {
+        this.meterRegistry = meterRegistry;
+        this.serviceLevelObjectives = serviceLevelObjectives;
+        for (String tier : CACHE_TIERS) {
+            Map<String, Timer> tierTimers = new HashMap<>();
+            for (String outcome : CACHE_OUTCOMES) {
+                tierTimers.put(outcome, registerTimer("exchange.rate.cache.lookup",
+                        Tags.of("tier", tier, "outcome", outcome)));
+            }
+            cacheLookupTimers.put(tier, tierTimers);
+        }
+        this.aggregationTimer = registerTimer("exchange.rate.aggregation", Tags.empty());
+        this.localCacheHits = registerCounter("exchange.rate.cache.local.hits");
+        this.localCacheMisses = registerCounter("exchange.rate.cache.local.misses");
+        this.localCacheEvictions = registerCounter("exchange.rate.cache.local.evictions");
+        this.coalescedRequests = registerCounter("exchange.rate.requests.coalesced");
+        this.staleHits = registerCounter("exchange.rate.cache.stale.hits");
+        this.backgroundRefreshes = registerCounter("exchange.rate.cache.background.refreshes");
+        this.quorumCutoffs = registerCounter("exchange.rate.fanout.cutoffs", Tags.of("reason", "quorum"));
+        this.deadlineCutoffs = registerCounter("exchange.rate.fanout.cutoffs", Tags.of("reason", "deadline"));
+    }
 
     @Override
     public void incrementRequestCount(String apiName) {
-        totalQueries.incrementAndGet();
-        metricsMap.compute(apiName, (k, v) -> {
-            if (v == null) {
-                return ApiMetricsDataDTO.builder().totalRequests(1).build();
-            }
-            return ApiMetricsDataDTO.builder()
-                    .totalRequests(v.getTotalRequests() + 1)
-                    .totalResponses(v.getTotalResponses())
-                    .failedRequests(v.getFailedRequests())
-                    .cacheHits(v.getCacheHits())
-                    .build();
-        });
-        Counter.builder("exchange.rate.requests")
-                .tag("api", apiName)
-                .register(meterRegistry)
-                .increment();
+        totalQueries.increment();
+        countersFor(apiName).requests.increment();
     }
 
     @Override
     public void incrementResponseCount(String apiName) {
-        metricsMap.compute(apiName, (k, v) -> {
-            if (v == null) {
-                return ApiMetricsDataDTO.builder().totalResponses(1).build();
-            }
-            return ApiMetricsDataDTO.builder()
-                    .totalRequests(v.getTotalRequests())
-                    .totalResponses(v.getTotalResponses() + 1)
-                    .failedRequests(v.getFailedRequests())
-                    .cacheHits(v.getCacheHits())
-                    .build();
-        });
-        Counter.builder("exchange.rate.responses")
-                .tag("api", apiName)
-                .register(meterRegistry)
-                .increment();
+        countersFor(apiName).responses.increment();
     }
 
     @Override
     public void incrementFailedCount(String apiName) {
-        metricsMap.compute(apiName, (k, v) -> {
-            if (v == null) {
-                return ApiMetricsDataDTO.builder().failedRequests(1).build();
-            }
-            return ApiMetricsDataDTO.builder()
-                    .totalRequests(v.getTotalRequests())
-                    .totalResponses(v.getTotalResponses())
-                    .failedRequests(v.getFailedRequests() + 1)
-                    .cacheHits(v.getCacheHits())
-                    .build();
-        });
-        Counter.builder("exchange.rate.failures")
-                .tag("api", apiName)
-                .register(meterRegistry)
-                .increment();
+        countersFor(apiName).failures.increment();
     }
 
     @Override
     public void incrementCacheHit(String apiName) {
-        metricsMap.compute(apiName, (k, v) -> {
-            if (v == null) {
-                return ApiMetricsDataDTO.builder().cacheHits(1).build();
-            }
-            return ApiMetricsDataDTO.builder()
-                    .totalRequests(v.getTotalRequests())
-                    .totalResponses(v.getTotalResponses())
-                    .failedRequests(v.getFailedRequests())
-                    .cacheHits(v.getCacheHits() + 1)
-                    .build();
-        });
-        Counter.builder("exchange.rate.cache.hits")
-                .tag("api", apiName)
-                .register(meterRegistry)
-                .increment();
+        countersFor(apiName).cacheHits.increment();
+    }
+
+    @Override
+    public void incrementLocalCacheHit() {
+        localCacheHits.increment();
+    }
+
+    @Override
+    public void incrementLocalCacheMiss() {
+        localCacheMisses.increment();
+    }
+
+    @Override
+    public void incrementLocalCacheEviction() {
+        localCacheEvictions.increment();
+    }
+
+    @Override
+    public void incrementCoalescedRequest() {
+        coalescedRequests.increment();
+    }
+
+    @Override
+    public void incrementStaleHit() {
+        staleHits.increment();
+    }
+
+    @Override
+    public void incrementBackgroundRefresh() {
+        backgroundRefreshes.increment();
+    }
+
+    @Override
+    public void incrementHedgedRequest(String apiName) {
+        countersFor(apiName).hedgedRequests.increment();
+    }
+
+    @Override
+    public void incrementFanOutCutoff(String reason) {
+        if ("quorum".equals(reason)) {
+            quorumCutoffs.increment();
+        } else {
+            deadlineCutoffs.increment();
+        }
+    }
+
+    @Override
+    public void incrementRoutingDecision(String apiName, String decision) {
+        LongAdder adder = countersFor(apiName).routingDecisions.get(decision);
+        if (adder != null) {
+            adder.increment();
+        }
+    }
+
+    @Override
+    public void recordProviderLatency(String apiName, String outcome, long durationNanos) {
+        Timer timer = countersFor(apiName).latencyTimers.get(outcome);
+        if (timer != null) {
+            timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordCacheLookup(String tier, String outcome, long durationNanos) {
+        Map<String, Timer> tierTimers = cacheLookupTimers.get(tier);
+        Timer timer = tierTimers != null ? tierTimers.get(outcome) : null;
+        if (timer != null) {
+            timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordAggregation(long durationNanos) {
+        aggregationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Duration getProviderLatency(String apiName, double percentile) {
+        ApiCounters counters = apiCounters.get(apiName);
+        if (counters == null) {
+            return null;
+        }
+        Timer success = counters.latencyTimers.get("success");
+        if (success.count() < MIN_LATENCY_SAMPLES) {
+            return null;
+        }
+        double nanos = counters.percentile(percentile, TimeUnit.NANOSECONDS);
+        return nanos > 0 ? Duration.ofNanos((long) nanos) : null;
     }
 
     @Override
     public MetricsResponseDTO getMetrics() {
-        List<ApiMetricsDTO> apis = metricsMap.entrySet().stream()
+        List<ApiMetricsDTO> apis = apiCounters.entrySet().stream()
                 .map(entry -> ApiMetricsDTO.builder()
                         .name(entry.getKey())
-                        .metrics(entry.getValue())
+                        .metrics(entry.getValue().snapshot())
                         .build())
                 .collect(Collectors.toList());
 
         return MetricsResponseDTO.builder()
-                .totalQueries(totalQueries.get())
+                .totalQueries(totalQueries.sum())
                 .apis(apis)
+                .localCache(CacheMetricsDTO.builder()
+                        .hits(localCacheHits.sum())
+                        .misses(localCacheMisses.sum())
+                        .evictions(localCacheEvictions.sum())
+                        .build())
+                .coalescedRequests(coalescedRequests.sum())
+                .staleHits(staleHits.sum())
+                .backgroundRefreshes(backgroundRefreshes.sum())
+                .quorumCutoffs(quorumCutoffs.sum())
+                .deadlineCutoffs(deadlineCutoffs.sum())
                 .build();
     }
 
-}
\ No newline at end of file
+    private ApiCounters countersFor(String apiName) {
+        // Plain get() is lock-free; computeIfAbsent only runs the first time an API is seen
+        ApiCounters counters = apiCounters.get(apiName);
+        if (counters == null) {
+            counters = apiCounters.computeIfAbsent(apiName, name -> new ApiCounters(name, this));
+        }
+        return counters;
+    }
+
+    private LongAdder registerCounter(String name) {
+        return registerCounter(name, Tags.empty());
+    }
+
+    private LongAdder registerCounter(String name, Tags tags) {
+        LongAdder adder = new LongAdder();
+        FunctionCounter.builder(name, adder, LongAdder::doubleValue)
+                .tags(tags)
+                .register(meterRegistry);
+        return adder;
+    }
+
+    private Timer registerTimer(String name, Tags tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(meterRegistry);
+    }
+
+    private static final class ApiCounters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder hedgedRequests = new LongAdder();
+        private final Map<String, Timer> latencyTimers = new HashMap<>();
+        private final Map<String, LongAdder> routingDecisions = new HashMap<>();
+
+        private ApiCounters(String apiName, MetricsServiceImpl metricsService) {
+            MeterRegistry meterRegistry = metricsService.meterRegistry;
+            register(meterRegistry, "exchange.rate.requests", apiName, requests);
+            register(meterRegistry, "exchange.rate.responses", apiName, responses);
+            register(meterRegistry, "exchange.rate.failures", apiName, failures);
+            register(meterRegistry, "exchange.rate.cache.hits", apiName, cacheHits);
+            register(meterRegistry, "exchange.rate.requests.hedged", apiName, hedgedRequests);
+            for (String decision : ROUTING_DECISIONS) {
+                LongAdder adder = new LongAdder();
+                FunctionCounter.builder("exchange.rate.routing.decisions", adder, LongAdder::doubleValue)
+                        .tags("api", apiName, "decision", decision)
+                        .register(meterRegistry);
+                routingDecisions.put(decision, adder);
+            }
+            for (String outcome : PROVIDER_OUTCOMES) {
+                latencyTimers.put(outcome, metricsService.registerTimer("exchange.rate.provider.latency",
+                        Tags.of("provider", apiName, "outcome", outcome)));
+            }
+        }
+
+        private static void register(MeterRegistry meterRegistry, String name, String apiName, LongAdder adder) {
+            FunctionCounter.builder(name, adder, LongAdder::doubleValue)
+                    .tag("api", apiName)
+                    .register(meterRegistry);
+        }
+
+        private ApiMetricsDataDTO snapshot() {
+            return ApiMetricsDataDTO.builder()
+                    .totalRequests(requests.sum())
+                    .totalResponses(responses.sum())
+                    .failedRequests(failures.sum())
+                    .cacheHits(cacheHits.sum())
+                    .hedgedRequests(hedgedRequests.sum())
+                    .routedCalls(routingDecisions.get("selected").sum())
+                    .skippedCalls(routingDecisions.get("skipped").sum())
+                    .probeCalls(routingDecisions.get("probe").sum())
+                    .fallbackCalls(routingDecisions.get("fallback").sum())
+                    .latencyP50Ms(percentile(0.5, TimeUnit.MILLISECONDS))
+                    .latencyP95Ms(percentile(0.95, TimeUnit.MILLISECONDS))
+                    .latencyP99Ms(percentile(0.99, TimeUnit.MILLISECONDS))
+                    .build();
+        }
+
+        /**
+         * Percentile of successful calls over the timer's recent (decaying) window.
+         */
+        private double percentile(double percentile, TimeUnit unit) {
+            for (ValueAtPercentile value : latencyTimers.get("success").takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile) {
+                    return value.value(unit);
+                }
+            }
+            return 0.0;
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.RateHistoryPointDTO;
+import reactor.core.publisher.Flux;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:30 PM
+ */
+
+public interface RateHistoryService {
+    Flux<RateHistoryPointDTO> getHistory(String baseCurrency, String from, String to, String symbols, String interval);
+}
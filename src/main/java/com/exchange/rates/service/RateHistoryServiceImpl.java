@@ -0,0 +1,78 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.RateHistoryPointDTO;
+import com.exchange.rates.exception.ExchangeRateException;
+import com.exchange.rates.service.history.RateHistoryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:30 PM
+ * Range queries over the local rate history. {@code from} and {@code to} are ISO-8601 instants or dates
+ * (a date covers its whole UTC day); {@code to} defaults to now and {@code from} to {@code default-range}
+ * before it. The optional interval is an ISO-8601 duration, e.g. {@code PT1H}.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class RateHistoryServiceImpl implements RateHistoryService {
+
+    private final RateHistoryStore rateHistoryStore;
+
+    @Value("${exchange.history.default-range:P1D}")
+    private Duration defaultRange;
+
+    /**
+     * @throws ExchangeRateException on a malformed or empty range or interval, before anything is streamed
+     */
+    @Override
+    public Flux<RateHistoryPointDTO> getHistory(String baseCurrency, String from, String to, String symbols, String interval) {
+        Instant end = to == null || to.isBlank() ? Instant.now() : parseInstant(to, true);
+        Instant start = from == null || from.isBlank() ? end.minus(defaultRange) : parseInstant(from, false);
+        if (start.isAfter(end)) {
+            throw new ExchangeRateException("'from' must not be after 'to'");
+        }
+        Duration bucket = parseInterval(interval);
+
+        return rateHistoryStore.scan(CurrencySymbols.normalizeCurrency(baseCurrency), start, end,
+                CurrencySymbols.normalizeSymbols(symbols), bucket);
+    }
+
+    private static Instant parseInstant(String value, boolean endOfDay) {
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return endOfDay
+                        ? date.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusMillis(1)
+                        : date.atStartOfDay(ZoneOffset.UTC).toInstant();
+            }
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ExchangeRateException("Invalid instant or date: " + value, e);
+        }
+    }
+
+    private static Duration parseInterval(String interval) {
+        if (interval == null || interval.isBlank()) {
+            return null;
+        }
+        try {
+            Duration bucket = Duration.parse(interval);
+            if (bucket.toMillis() <= 0) {
+                throw new ExchangeRateException("Interval must be at least one millisecond: " + interval);
+            }
+            return bucket;
+        } catch (DateTimeParseException e) {
+            throw new ExchangeRateException("Invalid interval, expected an ISO-8601 duration such as PT1H: " + interval, e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.RateQuoteDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:45 AM
+ */
+
+public interface RateQuoteService {
+    Mono<RateQuoteDTO> getQuote(String from, String to);
+}
@@ -0,0 +1,110 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.dto.RateQuoteDTO;
+import com.exchange.rates.exception.ExchangeRateException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:50 AM
+ * Single-pair quotes from a {@link CrossRateMatrix} of the quote base's table. The matrix is published
+ * through a volatile field: a quote reads it once and never waits on a lock or a cache, and a refresh
+ * swaps in a whole new matrix, so every quote sees one consistent table. The refresh loop starts with
+ * the first quote and reads the table through the regular cache tiers, so it costs no extra upstream
+ * calls; a new matrix is only built when the table is newer than the published one.
+ */
+
+@Log4j2
+@Service
+public class RateQuoteServiceImpl implements RateQuoteService, DisposableBean {
+
+    private final ExchangeRateService exchangeRateService;
+    private final String quoteBase;
+    private final Duration refreshInterval;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile CrossRateMatrix matrix;
+    private volatile Disposable refreshLoop;
+
+    public RateQuoteServiceImpl(ExchangeRateService exchangeRateService,
+                                @Value("${exchange.quote.base:EUR}") String quoteBase,
+                                @Value("${exchange.quote.refresh-interval:PT5S}") Duration refreshInterval) {
+        this.exchangeRateService = exchangeRateService;
+        this.quoteBase = CurrencySymbols.normalizeCurrency(quoteBase);
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public Mono<RateQuoteDTO> getQuote(String from, String to) {
+        // Canonical codes come back as the same instances, only other spellings allocate
+        String fromCode = CurrencySymbols.normalizeCurrency(from);
+        String toCode = CurrencySymbols.normalizeCurrency(to);
+        CrossRateMatrix current = matrix;
+        if (current != null) {
+            return quote(current, fromCode, toCode);
+        }
+
+        startRefreshing();
+        return exchangeRateService.getExchangeRates(quoteBase, null)
+                .map(this::publish)
+                .flatMap(published -> quote(published, fromCode, toCode));
+    }
+
+    private static Mono<RateQuoteDTO> quote(CrossRateMatrix current, String from, String to) {
+        double rate = current.rate(from, to);
+        if (Double.isNaN(rate)) {
+            return Mono.error(new ExchangeRateException("Unsupported currency " + (current.contains(from) ? to : from)));
+        }
+        return Mono.just(new RateQuoteDTO(from, to, rate, current.timestamp(), current.version()));
+    }
+
+    private CrossRateMatrix publish(ExchangeRateResponseDTO table) {
+        CrossRateMatrix current = matrix;
+        if (current != null && !isNewer(table, current)) {
+            return current;
+        }
+        CrossRateMatrix rebuilt = CrossRateMatrix.of(table);
+        matrix = rebuilt;
+        log.debug("Published {} cross rate matrix of {} currencies", rebuilt.version(), rebuilt.size());
+        return rebuilt;
+    }
+
+    /**
+     * A cold-start fetch may complete after a refresh, it must not replace a newer matrix.
+     */
+    private static boolean isNewer(ExchangeRateResponseDTO table, CrossRateMatrix current) {
+        return table.getTimestamp() != null
+                && (current.timestamp() == null || table.getTimestamp().isAfter(current.timestamp()));
+    }
+
+    private void startRefreshing() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshLoop = Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> exchangeRateService.getExchangeRates(quoteBase, null)
+                        .onErrorResume(e -> {
+                            log.warn("Refresh of the {} cross rate matrix failed: {}", quoteBase, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe(this::publish);
+    }
+
+    @Override
+    public void destroy() {
+        Disposable loop = refreshLoop;
+        if (loop != null) {
+            loop.dispose();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import reactor.core.publisher.Flux;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 03:40 PM
+ */
+
+public interface RateStreamService {
+    Flux<ExchangeRateResponseDTO> streamExchangeRates(String baseCurrency, String symbols);
+}
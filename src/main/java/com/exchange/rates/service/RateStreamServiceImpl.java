@@ -0,0 +1,99 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 03:40 PM
+ * Push-based rate updates. There is one refresh loop per base, shared by every subscriber of
+ * that base, so open streams do not multiply provider calls. Each subscriber only receives an
+ * event when the rates for its own symbols change, and a slow subscriber skips straight to the
+ * latest table instead of buffering every update.
+ */
+
+@Log4j2
+@Service
+public class RateStreamServiceImpl implements RateStreamService {
+
+    private final ExchangeRateService exchangeRateService;
+    private final Duration refreshInterval;
+    private final ConcurrentHashMap<String, Feed> feeds = new ConcurrentHashMap<>();
+
+    public RateStreamServiceImpl(ExchangeRateService exchangeRateService,
+                                 @Value("${exchange.stream.refresh-interval:PT15S}") Duration refreshInterval) {
+        this.exchangeRateService = exchangeRateService;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public Flux<ExchangeRateResponseDTO> streamExchangeRates(String baseCurrency, String symbols) {
+        String base = CurrencySymbols.normalizeCurrency(baseCurrency);
+        List<String> requestedSymbols = CurrencySymbols.normalizeSymbols(symbols);
+
+        return Flux.defer(() -> feedFor(base))
+                .map(table -> CurrencySymbols.slice(table, requestedSymbols))
+                .distinctUntilChanged(ExchangeRateResponseDTO::getRates)
+                .onBackpressureLatest();
+    }
+
+    /**
+     * Subscribers are counted inside {@code compute}, so a feed leaves the map exactly when its last
+     * subscriber does: a subscriber arriving while that one is still cancelling shares the old feed
+     * and keeps it registered, and one arriving after it starts a new feed.
+     */
+    private Flux<ExchangeRateResponseDTO> feedFor(String base) {
+        Feed feed = feeds.compute(base, (key, existing) -> {
+            Feed current = existing != null ? existing : new Feed(newFeed(key));
+            current.subscribers++;
+            return current;
+        });
+        return feed.updates.doFinally(signal -> feeds.computeIfPresent(base, (key, current) -> {
+            if (current != feed || --current.subscribers > 0) {
+                return current;
+            }
+            log.debug("Last subscriber of {} rate stream left", key);
+            return null;
+        }));
+    }
+
+    /**
+     * An error of the first load, e.g. for a base no provider knows, ends the feed and reaches its
+     * subscribers; after that a failed refresh keeps the last table and the loop goes on.
+     */
+    private Flux<ExchangeRateResponseDTO> newFeed(String base) {
+        Flux<ExchangeRateResponseDTO> refreshes = Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> exchangeRateService.getExchangeRates(base, null)
+                        .onErrorResume(e -> {
+                            log.warn("Refresh of {} rate stream failed: {}", base, e.getMessage());
+                            return Mono.empty();
+                        }));
+        return Mono.defer(() -> exchangeRateService.getExchangeRates(base, null))
+                .concatWith(refreshes)
+                .distinctUntilChanged(ExchangeRateResponseDTO::getRates)
+                .replay(1)
+                .refCount();
+    }
+
+    /**
+     * The subscriber count is only read and written within the map's compute functions.
+     */
+    private static final class Feed {
+
+        private final Flux<ExchangeRateResponseDTO> updates;
+        private int subscribers;
+
+        private Feed(Flux<ExchangeRateResponseDTO> updates) {
+            this.updates = updates;
+        }
+    }
+}
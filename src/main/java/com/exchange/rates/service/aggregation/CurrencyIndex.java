@@ -0,0 +1,72 @@
+package com.exchange.rates.service.aggregation;
+
+import java.util.Currency;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 12:30 PM
+ * Process-wide mapping from currency code to a dense slot number, so per-currency state can live
+ * in primitive arrays. ISO 4217 codes get stable slots up front; other codes a provider reports
+ * (crypto, legacy codes) are appended on first sight until {@link #MAX_SLOTS} is reached.
+ */
+
+public final class CurrencyIndex {
+
+    static final int MAX_SLOTS = 2048;
+
+    private static final ConcurrentHashMap<String, Integer> SLOTS = new ConcurrentHashMap<>();
+    private static final AtomicReferenceArray<String> CODES = new AtomicReferenceArray<>(MAX_SLOTS);
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    static {
+        Currency.getAvailableCurrencies().stream()
+                .map(Currency::getCurrencyCode)
+                .sorted()
+                .forEach(CurrencyIndex::slotOf);
+    }
+
+    private CurrencyIndex() {
+    }
+
+    /**
+     * @return the slot of the code, or {@code -1} once the index is full and the code is new
+     */
+    public static int slotOf(String code) {
+        Integer slot = SLOTS.get(code);
+        if (slot == null) {
+            slot = SLOTS.computeIfAbsent(code, CurrencyIndex::assign);
+        }
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Lookup only, for codes that come from clients: an unknown code never takes a slot.
+     *
+     * @return the slot of the code, or {@code -1} when it has none
+     */
+    public static int existingSlotOf(String code) {
+        Integer slot = code != null ? SLOTS.get(code) : null;
+        return slot != null ? slot : -1;
+    }
+
+    public static String codeAt(int slot) {
+        return CODES.get(slot);
+    }
+
+    public static int size() {
+        return Math.min(NEXT_SLOT.get(), MAX_SLOTS);
+    }
+
+    private static Integer assign(String code) {
+        int slot = NEXT_SLOT.getAndIncrement();
+        if (slot >= MAX_SLOTS) {
+            // Returning null leaves the code unmapped
+            return null;
+        }
+        CODES.set(slot, code);
+        return slot;
+    }
+}
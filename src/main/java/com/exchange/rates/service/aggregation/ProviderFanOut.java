@@ -0,0 +1,207 @@
+package com.exchange.rates.service.aggregation;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import com.exchange.rates.service.client.ExchangeRateClient;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 06:00 PM
+ * Calls the providers the {@link ProviderRouter} picked for a base and folds their tables as they
+ * arrive, bounded by:
+ * <ul>
+ *   <li>a deadline for the whole fan-out, after which whatever arrived is aggregated,</li>
+ *   <li>a quorum: once K providers answered the others are cancelled (0 waits for all),</li>
+ *   <li>optional hedging: a provider that has not answered within its recent p95 latency gets
+ *   a second request and the first answer wins.</li>
+ * </ul>
+ */
+
+@Log4j2
+@Component
+public class ProviderFanOut {
+
+    private final List<ExchangeRateClient> exchangeRateClients;
+    private final MetricsService metricsService;
+    private final ProviderRouter providerRouter;
+    private final Duration deadline;
+    private final int quorum;
+    private final boolean hedgingEnabled;
+    private final Duration hedgingMinDelay;
+    private final Scheduler timer;
+
+    @Autowired
+    public ProviderFanOut(List<ExchangeRateClient> exchangeRateClients,
+                          MetricsService metricsService,
+                          ProviderRouter providerRouter,
+                          @Value("${exchange.aggregation.deadline:PT3S}") Duration deadline,
+                          @Value("${exchange.aggregation.quorum:0}") int quorum,
+                          @Value("${exchange.aggregation.hedging.enabled:false}") boolean hedgingEnabled,
+                          @Value("${exchange.aggregation.hedging.min-delay:PT0.2S}") Duration hedgingMinDelay) {
+        this(exchangeRateClients, metricsService, providerRouter, deadline, quorum, hedgingEnabled, hedgingMinDelay,
+                Schedulers.parallel());
+    }
+
+    ProviderFanOut(List<ExchangeRateClient> exchangeRateClients, MetricsService metricsService,
+                   ProviderRouter providerRouter, Duration deadline, int quorum, boolean hedgingEnabled,
+                   Duration hedgingMinDelay, Scheduler timer) {
+        this.exchangeRateClients = exchangeRateClients;
+        this.metricsService = metricsService;
+        this.providerRouter = providerRouter;
+        this.deadline = deadline;
+        this.quorum = quorum;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgingMinDelay = hedgingMinDelay;
+        this.timer = timer;
+    }
+
+    /**
+     * @return the folded tables of the providers that answered in time; possibly with no responses.
+     * {@link RateAccumulator#complete()} tells whether every selected provider is in it
+     */
+    public Mono<RateAccumulator> fetch(String base) {
+        return fetch(base, null);
+    }
+
+    /**
+     * @param date the day to fetch rates for, {@code null} for the latest rates
+     */
+    public Mono<RateAccumulator> fetch(String base, LocalDate date) {
+        return Mono.defer(() -> {
+            ProviderRouter.RoutingPlan plan = providerRouter.plan(exchangeRateClients);
+            List<ExchangeRateClient> selected = plan.providers();
+            int providers = selected.size();
+            int needed;
+            AtomicInteger finished = new AtomicInteger();
+            AtomicBoolean deadlineReached = new AtomicBoolean();
+            AtomicBoolean primaryAnswered = new AtomicBoolean();
+
+            Flux<ExchangeRateResponseDTO> responses;
+            if (plan.sequential()) {
+                // The next provider is only called once the previous one came back empty
+                needed = 1;
+                responses = Flux.fromIterable(selected).index()
+                        .concatMap(indexed -> {
+                            if (indexed.getT1() > 0) {
+                                metricsService.incrementRoutingDecision(indexed.getT2().getDataSourceName(), "fallback");
+                            }
+                            return request(indexed.getT2(), base, date, deadlineReached)
+                                    .doOnSuccess(response -> {
+                                        finished.incrementAndGet();
+                                        if (response != null && indexed.getT1() == 0) {
+                                            primaryAnswered.set(true);
+                                        }
+                                    });
+                        })
+                        .take(1);
+            } else {
+                needed = quorum > 0 ? Math.min(quorum, providers) : providers;
+                responses = Flux.fromIterable(selected)
+                        .flatMap(client -> request(client, base, date, deadlineReached)
+                                // Fires on the response or the empty completion, before a quorum cut can cancel it
+                                .doOnSuccess(response -> finished.incrementAndGet()));
+                if (needed < providers) {
+                    responses = responses.take(needed);
+                }
+            }
+
+            return responses
+                    // Flagged before the cancellation reaches the calls, so they can tell a deadline cut apart
+                    .takeUntilOther(Mono.delay(deadline, timer).doOnNext(tick -> deadlineReached.set(true)))
+                    // Fold each table in as it arrives instead of buffering every response
+                    .reduceWith(RateAccumulator::new,
+                            (accumulator, response) -> accumulator.add(response.getDatasource(), response.getRates()))
+                    .doOnNext(accumulator -> {
+                        // A sequential plan selects only its primary, the others are fallbacks
+                        if (plan.sequential() ? primaryAnswered.get() : accumulator.responses() == providers) {
+                            accumulator.markComplete();
+                        }
+                        boolean answered = plan.sequential() && accumulator.responses() > 0;
+                        if (!answered && finished.get() < providers) {
+                            String reason = accumulator.responses() >= needed && needed < providers ? "quorum" : "deadline";
+                            log.info("Fan-out for {} cut short by {} with {}/{} providers", base, reason,
+                                    accumulator.responses(), providers);
+                            metricsService.incrementFanOutCutoff(reason);
+                        }
+                    });
+        });
+    }
+
+    private Mono<ExchangeRateResponseDTO> request(ExchangeRateClient client, String base, LocalDate date,
+                                                  AtomicBoolean deadlineReached) {
+        return hedgingEnabled
+                ? hedged(client, base, date, deadlineReached)
+                : call(client, base, date, deadlineReached);
+    }
+
+    private Mono<ExchangeRateResponseDTO> hedged(ExchangeRateClient client, String base, LocalDate date,
+                                                 AtomicBoolean deadlineReached) {
+        String name = client.getDataSourceName();
+        Duration p95 = metricsService.getProviderLatency(name, 0.95);
+        Duration delay = p95 != null && p95.compareTo(hedgingMinDelay) > 0 ? p95 : hedgingMinDelay;
+
+        // Errors come back as an empty first call: that ends the hedge too, so a failing provider is asked only once
+        Sinks.Empty<Void> firstDone = Sinks.empty();
+        Mono<ExchangeRateResponseDTO> first = call(client, base, date, deadlineReached)
+                .doOnTerminate(firstDone::tryEmitEmpty);
+        Mono<ExchangeRateResponseDTO> hedge = Mono.delay(delay, timer)
+                .takeUntilOther(firstDone.asMono())
+                .flatMap(tick -> {
+                    log.debug("Hedging request to {} after {}", name, delay);
+                    metricsService.incrementHedgedRequest(name);
+                    return call(client, base, date, deadlineReached);
+                });
+        return Mono.firstWithValue(first, hedge)
+                .onErrorResume(NoSuchElementException.class, e -> Mono.empty());
+    }
+
+    private Mono<ExchangeRateResponseDTO> call(ExchangeRateClient client, String base, LocalDate date,
+                                               AtomicBoolean deadlineReached) {
+        String name = client.getDataSourceName();
+        return Mono.defer(() -> {
+            metricsService.incrementRequestCount(name);
+            long start = System.nanoTime();
+            // No symbol filter: providers return their full table for the base
+            return client.getExchangeRates(base, null, date)
+                    .doOnSuccess(response -> {
+                        if (response != null) {
+                            metricsService.incrementResponseCount(name);
+                        } else {
+                            metricsService.incrementFailedCount(name);
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        metricsService.recordProviderLatency(name, response != null ? "success" : "empty", elapsed);
+                        providerRouter.record(name, elapsed, response != null);
+                    })
+                    .doOnError(e -> {
+                        long elapsed = System.nanoTime() - start;
+                        metricsService.recordProviderLatency(name, "error", elapsed);
+                        providerRouter.record(name, elapsed, false);
+                    })
+                    // A call still running at the deadline counts as failed, so a provider that hangs loses its routing
+                    // share; quorum and hedge losers say nothing about the provider and leave no sample
+                    .doOnCancel(() -> {
+                        if (deadlineReached.get()) {
+                            providerRouter.record(name, System.nanoTime() - start, false);
+                        }
+                    })
+                    .onErrorResume(e -> Mono.empty());
+        });
+    }
+}
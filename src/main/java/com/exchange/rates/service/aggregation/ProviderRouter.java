@@ -0,0 +1,217 @@
+package com.exchange.rates.service.aggregation;
+
+import com.exchange.rates.dto.ProviderRoutingDTO;
+import com.exchange.rates.dto.RoutingMetricsDTO;
+import com.exchange.rates.service.MetricsService;
+import com.exchange.rates.service.client.ExchangeRateClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 08:00 PM
+ * Decides which providers a fetch calls. Each provider keeps a moving window of its last calls
+ * (latency and failure); providers are ranked with unmeasured ones first so they get measured,
+ * then those under the error-rate limit by mean latency, then the rest by error rate.
+ */
+
+@Component
+public class ProviderRouter {
+
+    static final int MIN_SAMPLES = 5;
+
+    private final MetricsService metricsService;
+    private final RoutingMode mode;
+    private final int fastestN;
+    private final String primary;
+    private final int windowSize;
+    private final double maxErrorRate;
+    private final long probeAfterNanos;
+    private final Map<String, ProviderWindow> windows = new ConcurrentHashMap<>();
+
+    public ProviderRouter(MetricsService metricsService,
+                          @Value("${exchange.routing.mode:ALL}") RoutingMode mode,
+                          @Value("${exchange.routing.fastest-n:2}") int fastestN,
+                          @Value("${exchange.routing.primary:}") String primary,
+                          @Value("${exchange.routing.window-size:50}") int windowSize,
+                          @Value("${exchange.routing.max-error-rate:0.5}") double maxErrorRate,
+                          @Value("${exchange.routing.probe-after:PT1M}") Duration probeAfter) {
+        this.metricsService = metricsService;
+        this.mode = mode;
+        this.fastestN = Math.max(1, fastestN);
+        this.primary = primary;
+        this.windowSize = windowSize;
+        this.maxErrorRate = maxErrorRate;
+        this.probeAfterNanos = probeAfter.toNanos();
+    }
+
+    /**
+     * @param sequential call the providers one by one in order until one answers, instead of all at once
+     */
+    public record RoutingPlan(List<ExchangeRateClient> providers, boolean sequential) {
+    }
+
+    public RoutingPlan plan(List<ExchangeRateClient> clients) {
+        if (mode == RoutingMode.ALL || clients.isEmpty()) {
+            clients.forEach(client -> metricsService.incrementRoutingDecision(client.getDataSourceName(), "selected"));
+            return new RoutingPlan(clients, false);
+        }
+
+        long now = System.nanoTime();
+        List<ExchangeRateClient> ranked = rank(clients);
+        if (mode == RoutingMode.PRIMARY_FALLBACK) {
+            metricsService.incrementRoutingDecision(ranked.get(0).getDataSourceName(), "selected");
+            return new RoutingPlan(ranked, true);
+        }
+
+        List<ExchangeRateClient> selected = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            ExchangeRateClient client = ranked.get(i);
+            String name = client.getDataSourceName();
+            if (i < fastestN) {
+                metricsService.incrementRoutingDecision(name, "selected");
+                selected.add(client);
+            } else if (windowFor(name).isStale(now, probeAfterNanos)) {
+                // Keeps the statistics of skipped providers current so they can win back their place
+                metricsService.incrementRoutingDecision(name, "probe");
+                windowFor(name).markProbed(now);
+                selected.add(client);
+            } else {
+                metricsService.incrementRoutingDecision(name, "skipped");
+            }
+        }
+        return new RoutingPlan(selected, false);
+    }
+
+    public void record(String provider, long durationNanos, boolean success) {
+        windowFor(provider).record(durationNanos, success, System.nanoTime());
+    }
+
+    public RoutingMetricsDTO snapshot() {
+        List<ProviderRoutingDTO> providers = windows.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .toList();
+        return RoutingMetricsDTO.builder()
+                .mode(mode.name())
+                .providers(providers)
+                .build();
+    }
+
+    List<ExchangeRateClient> rank(List<ExchangeRateClient> clients) {
+        Map<ExchangeRateClient, ProviderWindow.Stats> stats = new HashMap<>();
+        clients.forEach(client -> stats.put(client, windowFor(client.getDataSourceName()).stats()));
+
+        Comparator<ExchangeRateClient> byPrimary = Comparator.comparing(
+                client -> !client.getDataSourceName().equals(primary));
+        Comparator<ExchangeRateClient> byMeasured = Comparator.comparing(
+                client -> stats.get(client).samples() >= MIN_SAMPLES);
+        Comparator<ExchangeRateClient> byHealth = Comparator.comparing(
+                client -> stats.get(client).errorRate() > maxErrorRate);
+        Comparator<ExchangeRateClient> byScore = Comparator.comparingDouble(client -> {
+            ProviderWindow.Stats window = stats.get(client);
+            return window.errorRate() > maxErrorRate ? window.errorRate() : window.meanLatencyNanos();
+        });
+
+        Comparator<ExchangeRateClient> order = byMeasured.thenComparing(byHealth).thenComparing(byScore);
+        // The configured primary only leads the fallback order, in the other modes it competes like any provider
+        if (mode == RoutingMode.PRIMARY_FALLBACK) {
+            order = byPrimary.thenComparing(order);
+        }
+
+        List<ExchangeRateClient> ranked = new ArrayList<>(clients);
+        ranked.sort(order);
+        return ranked;
+    }
+
+    private ProviderWindow windowFor(String provider) {
+        ProviderWindow window = windows.get(provider);
+        if (window == null) {
+            window = windows.computeIfAbsent(provider, name -> new ProviderWindow(windowSize));
+        }
+        return window;
+    }
+
+    /**
+     * Ring of the last calls of one provider. Updates are rare next to the network call they
+     * describe, so a monitor is cheaper to reason about than a lock-free structure here.
+     */
+    static final class ProviderWindow {
+
+        /**
+         * @param meanLatencyNanos over the successful calls only: failures, breaker and bulkhead rejections
+         *                         end in next to no time and would make a failing provider look fast.
+         *                         {@code NaN} without a successful call, which ranks after every latency
+         */
+        record Stats(int samples, double meanLatencyNanos, double errorRate) {
+        }
+
+        private final long[] latencies;
+        private final boolean[] failures;
+        private int next;
+        private int samples;
+        private long lastSampleNanos;
+        private boolean measured;
+
+        ProviderWindow(int size) {
+            this.latencies = new long[size];
+            this.failures = new boolean[size];
+        }
+
+        synchronized void record(long durationNanos, boolean success, long now) {
+            latencies[next] = durationNanos;
+            failures[next] = !success;
+            next = (next + 1) % latencies.length;
+            samples = Math.min(samples + 1, latencies.length);
+            lastSampleNanos = now;
+            measured = true;
+        }
+
+        synchronized void markProbed(long now) {
+            // One probe per interval, even while the probe is still in flight
+            lastSampleNanos = now;
+            measured = true;
+        }
+
+        synchronized boolean isStale(long now, long probeAfterNanos) {
+            return !measured || now - lastSampleNanos >= probeAfterNanos;
+        }
+
+        synchronized Stats stats() {
+            if (samples == 0) {
+                return new Stats(0, 0, 0);
+            }
+            long totalLatency = 0;
+            int failed = 0;
+            for (int i = 0; i < samples; i++) {
+                if (failures[i]) {
+                    failed++;
+                } else {
+                    totalLatency += latencies[i];
+                }
+            }
+            int succeeded = samples - failed;
+            double meanLatency = succeeded > 0 ? (double) totalLatency / succeeded : Double.NaN;
+            return new Stats(samples, meanLatency, (double) failed / samples);
+        }
+
+        ProviderRoutingDTO snapshot(String name) {
+            Stats stats = stats();
+            return ProviderRoutingDTO.builder()
+                    .name(name)
+                    .samples(stats.samples())
+                    // NaN is not valid JSON
+                    .meanLatencyMs(Double.isNaN(stats.meanLatencyNanos()) ? 0 : stats.meanLatencyNanos() / 1_000_000.0)
+                    .errorRate(stats.errorRate())
+                    .build();
+        }
+    }
+}
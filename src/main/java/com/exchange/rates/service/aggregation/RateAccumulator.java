@@ -0,0 +1,122 @@
+package com.exchange.rates.service.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 12:40 PM
+ * Running per-currency sum and count over provider tables, folded in as each response arrives.
+ * State is kept in primitive arrays indexed by {@link CurrencyIndex} slot, and the averaged map is
+ * built once at the end. Not thread-safe: Reactor delivers the elements of one reduction serially.
+ */
+
+public final class RateAccumulator {
+
+    private double[] sums;
+    private int[] counts;
+    private int[] touched;
+    private int touchedCount;
+    private Map<String, double[]> overflow;
+    private int responses;
+    private final List<String> providers = new ArrayList<>();
+    private long foldNanos;
+    private boolean complete;
+
+    public RateAccumulator() {
+        int capacity = CurrencyIndex.size();
+        this.sums = new double[capacity];
+        this.counts = new int[capacity];
+        this.touched = new int[64];
+    }
+
+    /**
+     * Folds one provider table in. A {@code null} table still counts as a response that carried no rates.
+     */
+    public RateAccumulator add(String provider, Map<String, Double> rates) {
+        long start = System.nanoTime();
+        responses++;
+        if (provider != null) {
+            providers.add(provider);
+        }
+        if (rates != null) {
+            rates.forEach(this::addRate);
+        }
+        foldNanos += System.nanoTime() - start;
+        return this;
+    }
+
+    public Map<String, Double> averages() {
+        long start = System.nanoTime();
+        int size = touchedCount + (overflow != null ? overflow.size() : 0);
+        Map<String, Double> averages = HashMap.newHashMap(size);
+        for (int i = 0; i < touchedCount; i++) {
+            int slot = touched[i];
+            averages.put(CurrencyIndex.codeAt(slot), sums[slot] / counts[slot]);
+        }
+        if (overflow != null) {
+            overflow.forEach((code, sumAndCount) -> averages.put(code, sumAndCount[0] / sumAndCount[1]));
+        }
+        foldNanos += System.nanoTime() - start;
+        return averages;
+    }
+
+    public int responses() {
+        return responses;
+    }
+
+    /**
+     * Providers whose tables were folded in, in arrival order.
+     */
+    public List<String> providers() {
+        return providers;
+    }
+
+    /**
+     * Whether every provider the fan-out selected contributed a table, i.e. no provider failed, came back
+     * empty or was cut by the deadline or the quorum.
+     */
+    public boolean complete() {
+        return complete;
+    }
+
+    public void markComplete() {
+        complete = true;
+    }
+
+    /**
+     * Time spent folding and averaging, excluding the time spent waiting for providers.
+     */
+    public long foldNanos() {
+        return foldNanos;
+    }
+
+    private void addRate(String code, Double rate) {
+        if (rate == null) {
+            return;
+        }
+        int slot = CurrencyIndex.slotOf(code);
+        if (slot < 0) {
+            double[] sumAndCount = (overflow != null ? overflow : (overflow = new HashMap<>()))
+                    .computeIfAbsent(code, k -> new double[2]);
+            sumAndCount[0] += rate;
+            sumAndCount[1]++;
+            return;
+        }
+        if (slot >= sums.length) {
+            int capacity = Math.max(slot + 1, CurrencyIndex.size());
+            sums = Arrays.copyOf(sums, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        if (counts[slot]++ == 0) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = slot;
+        }
+        sums[slot] += rate;
+    }
+}
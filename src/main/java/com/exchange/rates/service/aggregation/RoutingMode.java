@@ -0,0 +1,21 @@
+package com.exchange.rates.service.aggregation;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 08:00 PM
+ */
+
+public enum RoutingMode {
+    /**
+     * Every provider on every fetch.
+     */
+    ALL,
+    /**
+     * The N best ranked providers, plus providers whose statistics went stale as probes.
+     */
+    FASTEST_N,
+    /**
+     * One provider at a time, starting with the primary, moving on only when a call fails.
+     */
+    PRIMARY_FALLBACK
+}
@@ -0,0 +1,89 @@
+package com.exchange.rates.service.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 02:00 PM
+ * Soft/hard TTL policy for cached rate tables. Before the soft TTL an entry is fresh; in the
+ * refresh-ahead window just before it, and between the soft and hard TTL, it is still served
+ * but a background refresh is due. After the hard TTL it is gone from Redis and treated as a miss.
+ * Both TTLs are jittered so that tables written together do not expire together.
+ */
+
+@Component
+public class CacheFreshnessPolicy {
+
+    public enum Freshness {
+        FRESH,
+        REFRESH_AHEAD,
+        STALE,
+        EXPIRED
+    }
+
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final Duration refreshAhead;
+    private final double jitter;
+
+    public CacheFreshnessPolicy(@Value("${exchange.cache.soft-ttl:PT5M}") Duration softTtl,
+                                @Value("${exchange.cache.hard-ttl:PT10M}") Duration hardTtl,
+                                @Value("${exchange.cache.refresh-ahead:PT30S}") Duration refreshAhead,
+                                @Value("${exchange.cache.ttl-jitter:0.1}") double jitter) {
+        if (!(jitter >= 0.0 && jitter < 1.0)) {
+            throw new IllegalArgumentException("exchange.cache.ttl-jitter must be at least 0 and below 1");
+        }
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+        this.refreshAhead = refreshAhead;
+        this.jitter = jitter;
+        // Every entry must go stale, and get its refresh, before it can expire
+        if (scale(softTtl, 1.0).plus(refreshAhead).compareTo(scale(hardTtl, -1.0)) >= 0) {
+            throw new IllegalArgumentException("exchange.cache.soft-ttl plus jitter and exchange.cache.refresh-ahead "
+                    + "must be shorter than exchange.cache.hard-ttl minus jitter");
+        }
+    }
+
+    /**
+     * Redis expiry for a newly written entry, randomly spread by the jitter factor.
+     */
+    public Duration redisTtl() {
+        return scale(hardTtl, ThreadLocalRandom.current().nextDouble(-1.0, 1.0));
+    }
+
+    /**
+     * The soft TTL jitter is derived from the key and fetch time, so every instance
+     * reading the same entry agrees on when it turns stale.
+     */
+    public Freshness evaluate(String key, Instant fetchedAt, Instant now) {
+        if (fetchedAt == null) {
+            return Freshness.STALE;
+        }
+
+        Duration age = Duration.between(fetchedAt, now);
+        if (age.compareTo(scale(hardTtl, -1.0)) >= 0) {
+            return Freshness.EXPIRED;
+        }
+
+        long seed = 31L * key.hashCode() + fetchedAt.toEpochMilli();
+        double spread = (Long.hashCode(seed * 0x9E3779B97F4A7C15L) & 0xFFFF) / 32768.0 - 1.0;
+        Duration entrySoftTtl = scale(softTtl, spread);
+
+        if (age.compareTo(entrySoftTtl) >= 0) {
+            return Freshness.STALE;
+        }
+        if (age.compareTo(entrySoftTtl.minus(refreshAhead)) >= 0) {
+            return Freshness.REFRESH_AHEAD;
+        }
+        return Freshness.FRESH;
+    }
+
+    private Duration scale(Duration ttl, double spread) {
+        return Duration.ofMillis((long) (ttl.toMillis() * (1.0 + jitter * spread)));
+    }
+}
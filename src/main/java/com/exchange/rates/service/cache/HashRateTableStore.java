@@ -0,0 +1,171 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 04:10 PM
+ * Stores each table as one Redis hash: a field per currency holding the rate, plus the metadata
+ * fields {@code _ts} (fetch timestamp), {@code _ds} (datasource), {@code _p} (comma-separated
+ * contributing providers) and {@code _v} (layout version).
+ * Symbol requests read only their fields with HMGET, so the bytes moved per request follow the
+ * number of requested symbols. A refresh replaces the whole hash in one Lua script, so readers
+ * never see a mix of old and new rates.
+ */
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "exchange.cache.redis.storage", havingValue = "hash")
+public class HashRateTableStore implements RateTableStore {
+
+    static final String TIMESTAMP_FIELD = "_ts";
+    static final String DATASOURCE_FIELD = "_ds";
+    static final String PROVIDERS_FIELD = "_p";
+    static final String VERSION_FIELD = "_v";
+    static final String LAYOUT_VERSION = "1";
+
+    /**
+     * KEYS[1] = hash, ARGV[1] = TTL in milliseconds, ARGV[2..] = field/value pairs.
+     */
+    static final RedisScript<Long> REPLACE_SCRIPT = RedisScript.of("""
+            redis.call('DEL', KEYS[1])
+            for i = 2, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final List<String> METADATA_FIELDS = List.of(TIMESTAMP_FIELD, DATASOURCE_FIELD, PROVIDERS_FIELD, VERSION_FIELD);
+
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+
+    static String key(String base) {
+        return String.format("exchangeRates:hash::%s", base);
+    }
+
+    @Override
+    public Mono<ExchangeRateResponseDTO> read(String base, List<String> symbols) {
+        if (symbols.isEmpty()) {
+            return readFull(base);
+        }
+
+        List<String> fields = new ArrayList<>(METADATA_FIELDS.size() + symbols.size());
+        fields.addAll(METADATA_FIELDS);
+        fields.addAll(symbols);
+        return stringRedisTemplate.<String, String>opsForHash().multiGet(key(base), fields)
+                .mapNotNull(values -> {
+                    Map<String, String> entries = new HashMap<>();
+                    for (int i = 0; i < fields.size() && i < values.size(); i++) {
+                        if (values.get(i) != null) {
+                            entries.put(fields.get(i), values.get(i));
+                        }
+                    }
+                    return toTable(base, entries);
+                });
+    }
+
+    @Override
+    public Mono<Map<String, ExchangeRateResponseDTO>> readAll(Collection<String> bases) {
+        // Commands issued together share the connection and are pipelined by the driver
+        return Flux.fromIterable(bases)
+                .flatMap(base -> readFull(base).map(table -> Map.entry(base, table)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Override
+    public Mono<Boolean> write(String base, ExchangeRateResponseDTO table, Duration ttl) {
+        Map<String, Double> rates = table.getRates() != null ? table.getRates() : Map.of();
+        List<String> args = new ArrayList<>(1 + 2 * (METADATA_FIELDS.size() + rates.size()));
+        args.add(Long.toString(ttl.toMillis()));
+        args.add(VERSION_FIELD);
+        args.add(LAYOUT_VERSION);
+        if (table.getTimestamp() != null) {
+            args.add(TIMESTAMP_FIELD);
+            args.add(table.getTimestamp().toString());
+        }
+        if (table.getDatasource() != null) {
+            args.add(DATASOURCE_FIELD);
+            args.add(table.getDatasource());
+        }
+        if (table.getProviders() != null) {
+            args.add(PROVIDERS_FIELD);
+            args.add(String.join(",", table.getProviders()));
+        }
+        rates.forEach((code, rate) -> {
+            if (rate != null) {
+                args.add(code);
+                args.add(Double.toString(rate));
+            }
+        });
+        return stringRedisTemplate.execute(REPLACE_SCRIPT, List.of(key(base)), args)
+                .next()
+                .map(result -> result == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public boolean readsPartialTables() {
+        return true;
+    }
+
+    private Mono<ExchangeRateResponseDTO> readFull(String base) {
+        return stringRedisTemplate.<String, String>opsForHash().entries(key(base))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .mapNotNull(entries -> toTable(base, entries));
+    }
+
+    /**
+     * @return null when the hash is missing or was written with another layout version
+     */
+    private static ExchangeRateResponseDTO toTable(String base, Map<String, String> entries) {
+        if (!LAYOUT_VERSION.equals(entries.get(VERSION_FIELD))) {
+            return null;
+        }
+
+        Map<String, Double> rates = HashMap.newHashMap(entries.size());
+        entries.forEach((field, value) -> {
+            if (!field.startsWith("_")) {
+                rates.put(field, Double.parseDouble(value));
+            }
+        });
+        return ExchangeRateResponseDTO.builder()
+                .datasource(entries.get(DATASOURCE_FIELD))
+                .base(base)
+                .rates(rates)
+                .timestamp(parseTimestamp(entries.get(TIMESTAMP_FIELD)))
+                .providers(parseProviders(entries.get(PROVIDERS_FIELD)))
+                .build();
+    }
+
+    private static List<String> parseProviders(String value) {
+        return value != null ? List.of(value.split(",")) : null;
+    }
+
+    private static Instant parseTimestamp(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 12:10 AM
+ * Cache tier for rate tables of past days, which never change once published. Entries never expire:
+ * a Caffeine tier of its own, bounded by weight like {@link LocalRateCache} but separate from it, so
+ * historical lookups cannot evict live rates. Every table is also written through to
+ * {@code <directory>/<date>/<BASE>.bin} in the binary Redis codec; the disk holds what the memory tier
+ * evicted and survives restarts, so a day is fetched upstream only once. Historical tables never go
+ * to Redis, whose entries all carry the live-rate TTL.
+ */
+
+@Log4j2
+@Component
+public class HistoricalRateCache {
+
+    private static final Pattern STORABLE_BASE = Pattern.compile("[A-Z0-9]{1,16}");
+
+    private final Cache<String, ExchangeRateResponseDTO> memory;
+    private final MetricsService metricsService;
+    private final RateTableRedisSerializer codec;
+    private final Path directory;
+
+    public HistoricalRateCache(MetricsService metricsService,
+                               @Value("${exchange.cache.historical.maximum-weight:200000}") long maximumWeight,
+                               @Value("${exchange.cache.historical.directory:data/historical}") String directory,
+                               @Value("${exchange.cache.codec.compression-threshold:1024}") int compressionThreshold) {
+        this.metricsService = metricsService;
+        this.directory = Path.of(directory);
+        this.codec = new RateTableRedisSerializer(RedisSerializer.json(), compressionThreshold);
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String key, ExchangeRateResponseDTO value) ->
+                        1 + (value.getRates() != null ? value.getRates().size() : 0))
+                .build();
+    }
+
+    public static String getCacheKey(String base, LocalDate date) {
+        return String.format("historicalRates::%s::%s", base, date);
+    }
+
+    /**
+     * @return the cached table from memory, or else from disk; empty when the day was never fetched
+     */
+    public Mono<ExchangeRateResponseDTO> get(String base, LocalDate date) {
+        String key = getCacheKey(base, date);
+        long start = System.nanoTime();
+        ExchangeRateResponseDTO cached = memory.getIfPresent(key);
+        metricsService.recordCacheLookup("historical", cached != null ? "hit" : "miss", System.nanoTime() - start);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        if (!STORABLE_BASE.matcher(base).matches()) {
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(() -> readFromDisk(base, date))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(table -> memory.put(key, table))
+                .doOnSuccess(table -> metricsService.recordCacheLookup("disk", table != null ? "hit" : "miss",
+                        System.nanoTime() - start))
+                .onErrorResume(e -> {
+                    log.warn("Failed to read historical rates {} from disk: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Caches the table in memory right away and completes once it is on disk.
+     */
+    public Mono<Void> put(String base, LocalDate date, ExchangeRateResponseDTO table) {
+        memory.put(getCacheKey(base, date), table);
+        if (!STORABLE_BASE.matcher(base).matches()) {
+            return Mono.empty();
+        }
+
+        return Mono.fromRunnable(() -> writeToDisk(base, date, table))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("Failed to write historical rates {} {} to disk: {}", base, date, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private ExchangeRateResponseDTO readFromDisk(String base, LocalDate date) throws IOException {
+        Path file = fileOf(base, date);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return (ExchangeRateResponseDTO) codec.deserialize(Files.readAllBytes(file));
+    }
+
+    private void writeToDisk(String base, LocalDate date, ExchangeRateResponseDTO table) {
+        try {
+            Path file = fileOf(base, date);
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), base, ".tmp");
+            Files.write(temporary, codec.serialize(table));
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private Path fileOf(String base, LocalDate date) {
+        return directory.resolve(date.toString()).resolve(base + ".bin");
+    }
+}
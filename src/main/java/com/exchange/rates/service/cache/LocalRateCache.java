@@ -0,0 +1,65 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:05 AM
+ * In-process L1 cache in front of Redis. Caffeine's W-TinyLFU admission keeps the hot
+ * keys resident, and entries are weighed by their number of rates so that full tables
+ * and two-symbol responses share the same bound fairly.
+ */
+
+@Component
+public class LocalRateCache {
+
+    private final Cache<String, ExchangeRateResponseDTO> cache;
+    private final MetricsService metricsService;
+
+    public LocalRateCache(MetricsService metricsService,
+                          @Value("${exchange.cache.local.maximum-weight:100000}") long maximumWeight,
+                          @Value("${exchange.cache.local.ttl:PT1M}") Duration ttl) {
+        this.metricsService = metricsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String key, ExchangeRateResponseDTO value) -> weightOf(value))
+                .expireAfterWrite(ttl)
+                // Only size pressure counts as an eviction, TTL expiry is the normal end of an entry
+                .evictionListener((key, value, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        metricsService.incrementLocalCacheEviction();
+                    }
+                })
+                .build();
+    }
+
+    public ExchangeRateResponseDTO get(String key) {
+        ExchangeRateResponseDTO value = cache.getIfPresent(key);
+        if (value != null) {
+            metricsService.incrementLocalCacheHit();
+        } else {
+            metricsService.incrementLocalCacheMiss();
+        }
+        return value;
+    }
+
+    public void put(String key, ExchangeRateResponseDTO value) {
+        cache.put(key, value);
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static int weightOf(ExchangeRateResponseDTO value) {
+        return 1 + (value.getRates() != null ? value.getRates().size() : 0);
+    }
+}
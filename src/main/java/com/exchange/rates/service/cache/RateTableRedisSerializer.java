@@ -0,0 +1,279 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 03:00 PM
+ * Binary Redis codec for cached rate tables. Layout (big-endian):
+ * <pre>
+ *   byte    magic 0xB1 (never the first byte of a JSON document)
+ *   byte    version, currently 3 (2 had no date, 1 had no provider list either)
+ *   byte    flags, bit 0 = body is LZ4 block compressed and prefixed with its int uncompressed length
+ *   body:
+ *   long    timestamp epoch seconds, Long.MIN_VALUE when absent
+ *   int     timestamp nanos
+ *   string  datasource, then base: short byte length (-1 = null) followed by UTF-8 bytes
+ *   short   provider count (-1 = null), then that many strings (version 2+)
+ *   long    date epoch day, Long.MIN_VALUE when absent (version 3+)
+ *   int     rate count (-1 = null map)
+ *   rates:  byte code index into the version's dictionary, or 0xFF followed by a string; then a double
+ * </pre>
+ * Bodies of at least {@code compressionThreshold} bytes are compressed when that makes them smaller.
+ * Values without the magic byte, such as entries written before this codec, and values of other types
+ * go through the JSON serializer, so both formats can be read while entries roll over.
+ */
+
+public class RateTableRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 3;
+    static final byte MIN_READ_VERSION = 1;
+    static final byte FLAG_LZ4 = 0x01;
+
+    private static final int HEADER_LENGTH = 3;
+    private static final int INLINE_CODE = 0xFF;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int MAX_BODY_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * Dictionary of versions 1 to 3. Indices are part of the stored format: append only together with a version bump.
+     */
+    private static final String[] DICTIONARY = ("AED AFN ALL AMD ANG AOA ARS AUD AWG AZN BAM BBD BDT BGN BHD BIF BMD BND "
+            + "BOB BRL BSD BTN BWP BYN BZD CAD CDF CHF CLP CNY COP CRC CUP CVE CZK DJF DKK DOP DZD EGP ERN ETB EUR FJD "
+            + "FKP GBP GEL GHS GIP GMD GNF GTQ GYD HKD HNL HTG HUF IDR ILS INR IQD IRR ISK JMD JOD JPY KES KGS KHR KMF "
+            + "KPW KRW KWD KYD KZT LAK LBP LKR LRD LSL LYD MAD MDL MGA MKD MMK MNT MOP MRU MUR MVR MWK MXN MYR MZN NAD "
+            + "NGN NIO NOK NPR NZD OMR PAB PEN PGK PHP PKR PLN PYG QAR RON RSD RUB RWF SAR SBD SCR SDG SEK SGD SHP SLE "
+            + "SLL SOS SRD SSP STN SVC SYP SZL THB TJS TMT TND TOP TRY TTD TWD TZS UAH UGX USD UYU UZS VES VND VUV WST "
+            + "XAF XAG XAU XCD XDR XOF XPD XPF XPT YER ZAR ZMW ZWL GGP IMP JEP "
+            + "BTC ETH USDT USDC BNB XRP ADA DOGE SOL TRX DOT MATIC LTC SHIB AVAX DAI WBTC LINK ATOM XLM XMR ETC BCH "
+            + "FIL APT ARB OP NEAR VET ICP ALGO").split(" ");
+
+    private static final Map<String, Integer> DICTIONARY_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < DICTIONARY.length; i++) {
+            DICTIONARY_INDEX.put(DICTIONARY[i], i);
+        }
+    }
+
+    private final RedisSerializer<Object> jsonSerializer;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    public RateTableRedisSerializer(RedisSerializer<Object> jsonSerializer, int compressionThreshold) {
+        this.jsonSerializer = jsonSerializer;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof ExchangeRateResponseDTO table)) {
+            return jsonSerializer.serialize(value);
+        }
+        byte[] body = encodeBody(table);
+        if (body.length >= compressionThreshold) {
+            byte[] compressed = compress(body);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        byte[] bytes = new byte[HEADER_LENGTH + body.length];
+        writeHeader(bytes, (byte) 0);
+        System.arraycopy(body, 0, bytes, HEADER_LENGTH, body.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] < MIN_READ_VERSION || bytes[1] > VERSION) {
+            throw new SerializationException("Unsupported rate table format version " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+        try {
+            ByteBuffer body = ByteBuffer.wrap(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            if ((bytes[2] & FLAG_LZ4) != 0) {
+                int length = body.getInt();
+                if (length < 0 || length > MAX_BODY_LENGTH) {
+                    throw new SerializationException("Corrupt rate table entry length " + length);
+                }
+                byte[] restored = new byte[length];
+                decompressor.decompress(bytes, HEADER_LENGTH + Integer.BYTES, restored, 0, length);
+                body = ByteBuffer.wrap(restored);
+            }
+            return decodeBody(body, bytes[1]);
+        } catch (BufferUnderflowException | IllegalArgumentException | LZ4Exception e) {
+            throw new SerializationException("Corrupt rate table entry", e);
+        }
+    }
+
+    private byte[] compress(byte[] body) {
+        int maxLength = compressor.maxCompressedLength(body.length);
+        byte[] out = new byte[HEADER_LENGTH + Integer.BYTES + maxLength];
+        int length = compressor.compress(body, 0, body.length, out, HEADER_LENGTH + Integer.BYTES, maxLength);
+        if (Integer.BYTES + length >= body.length) {
+            return null;
+        }
+        writeHeader(out, FLAG_LZ4);
+        ByteBuffer.wrap(out, HEADER_LENGTH, Integer.BYTES).putInt(body.length);
+        byte[] trimmed = new byte[HEADER_LENGTH + Integer.BYTES + length];
+        System.arraycopy(out, 0, trimmed, 0, trimmed.length);
+        return trimmed;
+    }
+
+    private static void writeHeader(byte[] bytes, byte flags) {
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        bytes[2] = flags;
+    }
+
+    private static byte[] encodeBody(ExchangeRateResponseDTO table) {
+        byte[] datasource = utf8(table.getDatasource());
+        byte[] base = utf8(table.getBase());
+        List<String> providers = table.getProviders();
+        Map<String, Double> rates = table.getRates();
+
+        int length = Long.BYTES + Integer.BYTES + stringLength(datasource) + stringLength(base) + Short.BYTES
+                + Long.BYTES + Integer.BYTES;
+        List<byte[]> providerNames = new ArrayList<>();
+        if (providers != null) {
+            for (String provider : providers) {
+                byte[] name = utf8(provider);
+                providerNames.add(name);
+                length += stringLength(name);
+            }
+        }
+        if (rates != null) {
+            for (String code : rates.keySet()) {
+                length += 1 + Double.BYTES;
+                if (!DICTIONARY_INDEX.containsKey(code)) {
+                    length += stringLength(utf8(code));
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        Instant timestamp = table.getTimestamp();
+        buffer.putLong(timestamp != null ? timestamp.getEpochSecond() : NO_TIMESTAMP);
+        buffer.putInt(timestamp != null ? timestamp.getNano() : 0);
+        putString(buffer, datasource);
+        putString(buffer, base);
+        buffer.putShort((short) (providers != null ? providerNames.size() : -1));
+        providerNames.forEach(name -> putString(buffer, name));
+        buffer.putLong(table.getDate() != null ? table.getDate().toEpochDay() : NO_DATE);
+        if (rates == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(rates.size());
+            rates.forEach((code, rate) -> {
+                Integer index = DICTIONARY_INDEX.get(code);
+                if (index != null) {
+                    buffer.put(index.byteValue());
+                } else {
+                    buffer.put((byte) INLINE_CODE);
+                    putString(buffer, utf8(code));
+                }
+                buffer.putDouble(rate != null ? rate : Double.NaN);
+            });
+        }
+        return buffer.array();
+    }
+
+    private static ExchangeRateResponseDTO decodeBody(ByteBuffer buffer, byte version) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        String datasource = getString(buffer);
+        String base = getString(buffer);
+        List<String> providers = null;
+        LocalDate date = null;
+        if (version >= 2) {
+            short providerCount = buffer.getShort();
+            if (providerCount >= 0) {
+                providers = new ArrayList<>(providerCount);
+                for (int i = 0; i < providerCount; i++) {
+                    providers.add(getString(buffer));
+                }
+            }
+        }
+        if (version >= 3) {
+            long epochDay = buffer.getLong();
+            date = epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+        }
+        int count = buffer.getInt();
+
+        Map<String, Double> rates = null;
+        if (count >= 0) {
+            rates = HashMap.newHashMap(count);
+            for (int i = 0; i < count; i++) {
+                int index = buffer.get() & 0xFF;
+                String code = index == INLINE_CODE ? getString(buffer) : DICTIONARY[index];
+                rates.put(code, buffer.getDouble());
+            }
+        }
+        return ExchangeRateResponseDTO.builder()
+                .datasource(datasource)
+                .base(base)
+                .rates(rates)
+                .timestamp(seconds != NO_TIMESTAMP ? Instant.ofEpochSecond(seconds, nanos) : null)
+                .providers(providers)
+                .date(date)
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new SerializationException("String too long for rate table entry: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int stringLength(byte[] utf8) {
+        return Short.BYTES + (utf8 != null ? utf8.length : 0);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] utf8) {
+        if (utf8 == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) utf8.length);
+        buffer.put(utf8);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,44 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 04:00 PM
+ * Shared (Redis) storage of aggregated rate tables, one entry per base.
+ * The layout is chosen with {@code exchange.cache.redis.storage}: {@code value} or {@code hash}.
+ */
+
+public interface RateTableStore {
+
+    /**
+     * Reads the table of a base.
+     *
+     * @param symbols upper-case codes the caller needs, empty for the full table; a store may still return more
+     * @return the table, or empty when the base is not stored
+     */
+    Mono<ExchangeRateResponseDTO> read(String base, List<String> symbols);
+
+    /**
+     * Reads the full tables of several bases in one round trip where the layout allows it.
+     *
+     * @return the tables that were found, keyed by base
+     */
+    Mono<Map<String, ExchangeRateResponseDTO>> readAll(Collection<String> bases);
+
+    /**
+     * Replaces the table of a base atomically.
+     */
+    Mono<Boolean> write(String base, ExchangeRateResponseDTO table, Duration ttl);
+
+    /**
+     * @return true if {@link #read} returns only the requested symbols, so results must not be cached as full tables
+     */
+    boolean readsPartialTables();
+}
@@ -0,0 +1,48 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:40 AM
+ * Single-flight registry for cache misses. Concurrent callers for the same cache key share
+ * one in-flight Mono, so an expiring hot key triggers one provider fan-out instead of one
+ * per waiting request. The entry is dropped as soon as the shared Mono completes or errors.
+ */
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer {
+
+    private final MetricsService metricsService;
+    private final ConcurrentHashMap<String, Mono<ExchangeRateResponseDTO>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<ExchangeRateResponseDTO> coalesce(String key, Supplier<Mono<ExchangeRateResponseDTO>> loader) {
+        return Mono.defer(() -> {
+            Mono<ExchangeRateResponseDTO> candidate = Mono.defer(loader)
+                    .doFinally(signal -> inFlight.remove(key))
+                    .cache();
+
+            Mono<ExchangeRateResponseDTO> existing = inFlight.putIfAbsent(key, candidate);
+            if (existing != null) {
+                log.debug("Joining in-flight request for key: {}", key);
+                metricsService.incrementCoalescedRequest();
+                return existing;
+            }
+            return candidate;
+        });
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
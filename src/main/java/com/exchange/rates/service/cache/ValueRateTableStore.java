@@ -0,0 +1,64 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 04:05 PM
+ * Stores each table as one opaque value, so every read decodes the whole table.
+ */
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "exchange.cache.redis.storage", havingValue = "value", matchIfMissing = true)
+public class ValueRateTableStore implements RateTableStore {
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    static String key(String base) {
+        return String.format("exchangeRates::%s", base);
+    }
+
+    @Override
+    public Mono<ExchangeRateResponseDTO> read(String base, List<String> symbols) {
+        return reactiveRedisTemplate.opsForValue().get(key(base))
+                .ofType(ExchangeRateResponseDTO.class);
+    }
+
+    @Override
+    public Mono<Map<String, ExchangeRateResponseDTO>> readAll(Collection<String> bases) {
+        List<String> orderedBases = List.copyOf(bases);
+        List<String> keys = orderedBases.stream().map(ValueRateTableStore::key).toList();
+        return reactiveRedisTemplate.opsForValue().multiGet(keys)
+                .map(values -> {
+                    Map<String, ExchangeRateResponseDTO> tables = new HashMap<>();
+                    for (int i = 0; i < orderedBases.size() && i < values.size(); i++) {
+                        if (values.get(i) instanceof ExchangeRateResponseDTO table) {
+                            tables.put(orderedBases.get(i), table);
+                        }
+                    }
+                    return tables;
+                });
+    }
+
+    @Override
+    public Mono<Boolean> write(String base, ExchangeRateResponseDTO table, Duration ttl) {
+        return reactiveRedisTemplate.opsForValue().set(key(base), table, ttl);
+    }
+
+    @Override
+    public boolean readsPartialTables() {
+        return false;
+    }
+}
@@ -3,6 +3,8 @@ package com.exchange.rates.service.client;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+
 /**
  * @author Iman Irajian
  * Date: 5/25/2025 09:20 PM
@@ -11,5 +13,13 @@ import reactor.core.publisher.Mono;
 public interface ExchangeRateClient {
     String getDataSourceName();
 
-    Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols);
-}
\ No newline at end of file
+    default Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols) {
+        return getExchangeRates(baseCurrency, symbols, null);
+    }
+
+    /**
+     * @param date the day the rates were published for, {@code null} for the latest rates;
+     *             empty when the provider has no rates for that day
+     */
+    Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols, LocalDate date);
+}
@@ -1,14 +1,17 @@
 package com.exchange.rates.service.client;
 
+import com.exchange.rates.config.ProviderCircuitBreakers;
+import com.exchange.rates.config.ProviderWebClientFactory;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
-import com.exchange.rates.exception.ExchangeRateException;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
@@ -21,11 +24,14 @@ import java.util.Map;
 public class FrankfurterClient implements ExchangeRateClient {
 
     private final WebClient webClient;
+    private final ProviderCircuitBreakers circuitBreakers;
     private final String apiUrl;
 
-    public FrankfurterClient(WebClient.Builder webClientBuilder,
+    public FrankfurterClient(ProviderWebClientFactory webClientFactory,
+                             ProviderCircuitBreakers circuitBreakers,
                              @Value("${exchange.api.frankfurter.url}") String apiUrl) {
-        this.webClient = webClientBuilder.build();
+        this.webClient = webClientFactory.create("frankfurter");
+        this.circuitBreakers = circuitBreakers;
         this.apiUrl = apiUrl;
     }
 
@@ -35,8 +41,9 @@ public class FrankfurterClient implements ExchangeRateClient {
     }
 
     @Override
-    public Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols) {
-        String url = String.format("%s/latest?from=%s", apiUrl, baseCurrency);
+    public Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols, LocalDate date) {
+        // Dated lookups use the ISO date in place of "latest"
+        String url = String.format("%s/%s?from=%s", apiUrl, date != null ? date : "latest", baseCurrency);
         if (symbols != null && !symbols.isEmpty()) {
             url += "&to=" + symbols.replace(",", ",");
         }
@@ -46,21 +53,24 @@ public class FrankfurterClient implements ExchangeRateClient {
                 .retrieve()
                 .onStatus(HttpStatusCode::isError, response -> {
                     log.error("Error fetching rates from Frankfurter API: {}", response.statusCode());
-                    return Mono.error(new ExchangeRateException("Failed to fetch rates from Frankfurter API"));
+                    // Keeps the status, so 4xx answers are not counted against the provider's breaker
+                    return response.createException();
                 })
-                .bodyToMono(Map.class)
-                .map(response -> {
-                    ExchangeRateResponseDTO.ExchangeRateResponseDTOBuilder builder = ExchangeRateResponseDTO.builder()
+                .bodyToFlux(DataBuffer.class)
+                .reduceWith(() -> new RateTableParser("rates", symbols), RateTableParser::feed)
+                .map(RateTableParser::finish)
+                .filter(RateTableParser::hasContent)
+                .map(parser -> {
+                    Map<String, Double> rates = parser.rates();
+                    log.info("FrankfurterClient parsed {} rates for {}", rates != null ? rates.size() : 0, baseCurrency);
+                    return ExchangeRateResponseDTO.builder()
                             .datasource(getDataSourceName())
-                            .base(baseCurrency);
-
-                    if (response != null && response.containsKey("rates")) {
-                        Map<String, Double> rates = (Map<String, Double>) response.get("rates");
-                        builder.rates(rates);
-                    }
-                    log.info("FrankfurterClient called with response: {}", response);
-                    return builder.build();
+                            .base(baseCurrency)
+                            .rates(rates)
+                            .date(date)
+                            .build();
                 })
+                .transform(call -> circuitBreakers.run("frankfurter", call))
                 .doOnError(e -> log.error("Error in FrankfurterClient: {}", e.getMessage()))
                 .onErrorResume(e -> Mono.empty());
     }
@@ -1,15 +1,17 @@
 package com.exchange.rates.service.client;
 
+import com.exchange.rates.config.ProviderCircuitBreakers;
+import com.exchange.rates.config.ProviderWebClientFactory;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
-import com.exchange.rates.exception.ExchangeRateException;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
@@ -21,12 +23,17 @@ import java.util.Map;
 @Component
 public class FreeCurrencyRatesClient implements ExchangeRateClient {
 
+    private static final String LATEST_VERSION = "@latest";
+
     private final WebClient webClient;
+    private final ProviderCircuitBreakers circuitBreakers;
     private final String apiUrl;
 
-    public FreeCurrencyRatesClient(WebClient.Builder webClientBuilder,
+    public FreeCurrencyRatesClient(ProviderWebClientFactory webClientFactory,
+                                   ProviderCircuitBreakers circuitBreakers,
                                    @Value("${exchange.api.free-currency-rates.url}") String apiUrl) {
-        this.webClient = webClientBuilder.build();
+        this.webClient = webClientFactory.create("free-currency-rates");
+        this.circuitBreakers = circuitBreakers;
         this.apiUrl = apiUrl;
     }
 
@@ -36,39 +43,42 @@ public class FreeCurrencyRatesClient implements ExchangeRateClient {
     }
 
     @Override
-    public Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols) {
-        String url = String.format("%s/currencies/%s.json", apiUrl, baseCurrency.toLowerCase());
+    public Mono<ExchangeRateResponseDTO> getExchangeRates(String baseCurrency, String symbols, LocalDate date) {
+        String versionedUrl = apiUrl;
+        if (date != null) {
+            // Each day is published as its own package version, e.g. currency-api@2026-09-30
+            if (!apiUrl.contains(LATEST_VERSION)) {
+                log.debug("No dated Free Currency Rates API version for {}, skipping", apiUrl);
+                return Mono.empty();
+            }
+            versionedUrl = apiUrl.replace(LATEST_VERSION, "@" + date);
+        }
+        String url = String.format("%s/currencies/%s.json", versionedUrl, baseCurrency.toLowerCase());
 
         return webClient.get()
                 .uri(url)
                 .retrieve()
                 .onStatus(HttpStatusCode::isError, response -> {
                     log.error("Error fetching rates from Free Currency Rates API: {}", response.statusCode());
-                    return Mono.error(new ExchangeRateException("Failed to fetch rates from Free Currency Rates API"));
+                    // Keeps the status, so 4xx answers are not counted against the provider's breaker
+                    return response.createException();
                 })
-                .bodyToMono(Map.class)
-                .map(response -> {
-                    ExchangeRateResponseDTO.ExchangeRateResponseDTOBuilder builder = ExchangeRateResponseDTO.builder()
+                // Rates sit under the lower-case base code; only the requested symbols are kept
+                .bodyToFlux(DataBuffer.class)
+                .reduceWith(() -> new RateTableParser(baseCurrency.toLowerCase(), symbols), RateTableParser::feed)
+                .map(RateTableParser::finish)
+                .filter(RateTableParser::hasContent)
+                .map(parser -> {
+                    Map<String, Double> rates = parser.rates();
+                    log.info("FreeCurrencyRatesClient parsed {} rates for {}", rates != null ? rates.size() : 0, baseCurrency);
+                    return ExchangeRateResponseDTO.builder()
                             .datasource(getDataSourceName())
-                            .base(baseCurrency);
-
-                    if (response != null && response.containsKey(baseCurrency.toLowerCase())) {
-                        Map<String, Double> ratesMap = (Map<String, Double>) response.get(baseCurrency.toLowerCase());
-                        if (symbols != null) {
-                            Map<String, Double> filteredRates = new HashMap<>();
-                            String[] symbolsArray = symbols.split(",");
-                            for (String symbol : symbolsArray) {
-                                String symbolLower = symbol.toLowerCase();
-                                if (ratesMap.containsKey(symbolLower)) {
-                                    filteredRates.put(symbol, ratesMap.get(symbolLower));
-                                }
-                            }
-                            builder.rates(filteredRates);
-                        }
-                    }
-                    log.info("FreeCurrencyRatesClient called with response: {}", response);
-                    return builder.build();
+                            .base(baseCurrency)
+                            .rates(rates)
+                            .date(date)
+                            .build();
                 })
+                .transform(call -> circuitBreakers.run("free-currency-rates", call))
                 .doOnError(e -> log.error("Error in FreeCurrencyRatesClient: {}", e.getMessage()))
                 .onErrorResume(e -> Mono.empty());
     }
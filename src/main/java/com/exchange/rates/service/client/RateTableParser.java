@@ -0,0 +1,180 @@
+package com.exchange.rates.service.client;
+
+import com.exchange.rates.exception.ExchangeRateException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 02:10 PM
+ * Incremental decoder for provider payloads of the shape {@code {..., "<ratesField>": {"CODE": number, ...}}}.
+ * Body chunks are fed to Jackson's non-blocking parser as they arrive, so the payload is never buffered
+ * or materialized as a tree; rates outside the requested symbols are skipped at the token level and the
+ * kept ones are stored in parallel primitive arrays until {@link #rates()} builds the result map once.
+ * One instance parses one response and is not thread-safe.
+ */
+
+public final class RateTableParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String ratesField;
+    private final Set<String> symbols;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private int depth;
+    private boolean inRates;
+    private boolean ratesSeen;
+    private boolean contentSeen;
+    private String pendingCode;
+    private String[] codes = new String[16];
+    private double[] values = new double[16];
+    private int size;
+
+    /**
+     * @param ratesField top-level field holding the rate object
+     * @param symbols    comma-separated codes to keep (any case), or {@code null}/empty for all of them
+     */
+    public RateTableParser(String ratesField, String symbols) {
+        this.ratesField = ratesField;
+        this.symbols = symbolFilter(symbols);
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Consumes one body chunk and releases it.
+     */
+    public RateTableParser feed(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                feeder.feedInput(iterator.next());
+                drain();
+            }
+        } catch (IOException e) {
+            throw new ExchangeRateException("Malformed provider payload", e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        return this;
+    }
+
+    /**
+     * Signals the end of the body and checks that the document was complete.
+     */
+    public RateTableParser finish() {
+        feeder.endOfInput();
+        try {
+            drain();
+        } catch (IOException e) {
+            throw new ExchangeRateException("Malformed provider payload", e);
+        }
+        if (contentSeen && depth != 0) {
+            throw new ExchangeRateException("Truncated provider payload");
+        }
+        return this;
+    }
+
+    public boolean hasContent() {
+        return contentSeen;
+    }
+
+    /**
+     * @return the kept rates keyed by upper-case code, or {@code null} if the payload had no rates field
+     */
+    public Map<String, Double> rates() {
+        if (!ratesSeen) {
+            return null;
+        }
+        Map<String, Double> rates = HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) {
+            rates.put(codes[i], values[i]);
+        }
+        return rates;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            contentSeen = true;
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    if (depth == 1 && pendingCode != null && token == JsonToken.START_OBJECT) {
+                        inRates = true;
+                        ratesSeen = true;
+                    }
+                    pendingCode = null;
+                    depth++;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (depth == 1) {
+                        inRates = false;
+                    }
+                }
+                case FIELD_NAME -> onFieldName(parser.currentName());
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                    if (inRates && depth == 2 && pendingCode != null) {
+                        add(pendingCode, parser.getDoubleValue());
+                    }
+                    pendingCode = null;
+                }
+                default -> pendingCode = null;
+            }
+        }
+    }
+
+    private void onFieldName(String name) {
+        if (depth == 1) {
+            // Remember the field only if it is the rate object, the START_OBJECT that follows opens it
+            pendingCode = ratesField.equals(name) ? name : null;
+        } else if (inRates && depth == 2) {
+            pendingCode = symbols == null || symbols.contains(name) ? name : null;
+        } else {
+            pendingCode = null;
+        }
+    }
+
+    private void add(String code, double value) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        codes[size] = code.toUpperCase(Locale.ROOT);
+        values[size] = value;
+        size++;
+    }
+
+    private static Set<String> symbolFilter(String symbols) {
+        if (symbols == null || symbols.isBlank()) {
+            return null;
+        }
+        // Providers disagree on case, keep both spellings so field names can be matched without copying
+        Set<String> filter = new HashSet<>();
+        for (String symbol : symbols.split(",")) {
+            String trimmed = symbol.trim();
+            if (!trimmed.isEmpty()) {
+                filter.add(trimmed.toUpperCase(Locale.ROOT));
+                filter.add(trimmed.toLowerCase(Locale.ROOT));
+            }
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,330 @@
+package com.exchange.rates.service.history;
+
+import com.exchange.rates.dto.RateHistoryPointDTO;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:50 PM
+ * One memory-mapped, preallocated segment file of the history store. Layout (big-endian):
+ * <pre>
+ *   header, 32 bytes: int magic "RHIS", short version, short reserved, long first timestamp, 16 reserved
+ *   records:
+ *   int     length of the rest of the record (0 = end of the written part)
+ *   long    timestamp, epoch millis, non-decreasing within the store
+ *   short   number of currency codes this record adds to the segment dictionary,
+ *           then per code: byte length followed by its UTF-8 bytes (slots are assigned in order)
+ *   short   base slot
+ *   short   rate count, then per rate: short slot and a double
+ * </pre>
+ * A single writer appends; the record body is written before its length and the new limit is published
+ * through a volatile field, so readers never see a partial record and need no lock. Every
+ * {@code indexInterval}-th record gets an entry in an in-memory sparse time index, which is rebuilt
+ * by a sequential scan when the segment is opened.
+ */
+
+final class HistorySegment {
+
+    static final int MAGIC = 0x52484953;
+    static final short VERSION = 1;
+    static final int HEADER_LENGTH = 32;
+
+    private static final int MIN_RECORD_LENGTH = 8 + 2 + 2 + 2;
+    private static final int RATE_LENGTH = 2 + 8;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long firstTimestamp;
+    private final List<String> codes = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private volatile long lastTimestamp = Long.MIN_VALUE;
+    private volatile int limit = HEADER_LENGTH;
+    private volatile SparseIndex index = new SparseIndex(new long[64], new int[64], 0);
+    private int recordsSinceIndexEntry;
+
+    private HistorySegment(Path path, MappedByteBuffer buffer, long firstTimestamp) {
+        this.path = path;
+        this.buffer = buffer;
+        this.firstTimestamp = firstTimestamp;
+    }
+
+    static HistorySegment create(Path path, int size, long firstTimestamp) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.putLong(8, firstTimestamp);
+            return new HistorySegment(path, buffer, firstTimestamp);
+        }
+    }
+
+    /**
+     * Maps an existing segment and replays its records to rebuild the dictionary and the sparse index.
+     * Replay stops at the first record that is not complete and consistent.
+     */
+    static HistorySegment open(Path path, boolean writable, int indexInterval) throws IOException {
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a history segment: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+                throw new IOException("Unsupported history segment: " + path);
+            }
+            HistorySegment segment = new HistorySegment(path, buffer, buffer.getLong(8));
+            segment.replay(indexInterval);
+            return segment;
+        }
+    }
+
+    private void replay(int indexInterval) {
+        int position = HEADER_LENGTH;
+        int capacity = buffer.capacity();
+        while (position + 4 + MIN_RECORD_LENGTH <= capacity) {
+            int length = buffer.getInt(position);
+            int end = position + 4 + length;
+            if (length < MIN_RECORD_LENGTH || end > capacity || end < 0) {
+                break;
+            }
+            int cursor = position + 12;
+            int newCodes = buffer.getShort(cursor);
+            cursor += 2;
+            List<String> added = new ArrayList<>(Math.max(newCodes, 0));
+            for (int i = 0; i < newCodes && cursor < end; i++) {
+                int codeLength = buffer.get(cursor) & 0xFF;
+                if (cursor + 1 + codeLength > end) {
+                    break;
+                }
+                byte[] bytes = new byte[codeLength];
+                buffer.get(cursor + 1, bytes);
+                added.add(new String(bytes, StandardCharsets.UTF_8));
+                cursor += 1 + codeLength;
+            }
+            if (newCodes < 0 || added.size() != newCodes || cursor + 4 > end) {
+                break;
+            }
+            int rateCount = buffer.getShort(cursor + 2);
+            if (rateCount < 0 || cursor + 4 + rateCount * RATE_LENGTH != end) {
+                break;
+            }
+            added.forEach(this::register);
+            indexRecord(position, buffer.getLong(position + 4), indexInterval);
+            position = end;
+        }
+        limit = position;
+    }
+
+    /**
+     * Appends a snapshot, called from the single writer thread only.
+     *
+     * @return false when the record does not fit into the remaining space (or dictionary) of this segment
+     */
+    boolean append(long timestamp, String base, Map<String, Double> rates, int indexInterval) {
+        Map<String, byte[]> newCodes = new LinkedHashMap<>();
+        if (!collectCode(base, newCodes)) {
+            throw new IllegalArgumentException("Base currency cannot be stored: " + base);
+        }
+        int rateCount = 0;
+        for (Map.Entry<String, Double> rate : rates.entrySet()) {
+            if (isStorable(rate.getValue()) && collectCode(rate.getKey(), newCodes)) {
+                rateCount++;
+            }
+        }
+        int length = MIN_RECORD_LENGTH + rateCount * RATE_LENGTH;
+        for (byte[] code : newCodes.values()) {
+            length += 1 + code.length;
+        }
+
+        int position = limit;
+        if (codes.size() + newCodes.size() > Short.MAX_VALUE || (long) position + 4 + length > buffer.capacity()) {
+            return false;
+        }
+
+        newCodes.keySet().forEach(this::register);
+        int cursor = position + 4;
+        buffer.putLong(cursor, timestamp);
+        buffer.putShort(cursor + 8, (short) newCodes.size());
+        cursor += 10;
+        for (byte[] code : newCodes.values()) {
+            buffer.put(cursor, (byte) code.length);
+            buffer.put(cursor + 1, code);
+            cursor += 1 + code.length;
+        }
+        buffer.putShort(cursor, slots.get(base).shortValue());
+        buffer.putShort(cursor + 2, (short) rateCount);
+        cursor += 4;
+        for (Map.Entry<String, Double> rate : rates.entrySet()) {
+            Integer slot = rate.getKey() != null ? slots.get(rate.getKey()) : null;
+            if (slot != null && isStorable(rate.getValue())) {
+                buffer.putShort(cursor, slot.shortValue());
+                buffer.putDouble(cursor + 2, rate.getValue());
+                cursor += RATE_LENGTH;
+            }
+        }
+        // The length makes the record visible to a replay, the limit to readers
+        buffer.putInt(position, length);
+        indexRecord(position, timestamp, indexInterval);
+        limit = position + 4 + length;
+        return true;
+    }
+
+    /**
+     * @return false when the code cannot be stored (null or longer than 255 bytes)
+     */
+    private boolean collectCode(String code, Map<String, byte[]> newCodes) {
+        if (code == null) {
+            return false;
+        }
+        if (slots.containsKey(code) || newCodes.containsKey(code)) {
+            return true;
+        }
+        byte[] bytes = code.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFF) {
+            return false;
+        }
+        newCodes.put(code, bytes);
+        return true;
+    }
+
+    private static boolean isStorable(Double rate) {
+        return rate != null && Double.isFinite(rate);
+    }
+
+    private void register(String code) {
+        slots.put(code, codes.size());
+        codes.add(code);
+    }
+
+    private void indexRecord(int position, long timestamp, int indexInterval) {
+        if (recordsSinceIndexEntry++ % indexInterval == 0) {
+            index = index.add(timestamp, position);
+        }
+        lastTimestamp = timestamp;
+    }
+
+    /**
+     * @return the offset of a record at or before the first record not older than {@code timestamp}
+     */
+    int startOffset(long timestamp) {
+        SparseIndex current = index;
+        int low = 0;
+        int high = current.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (current.timestamps()[middle] < timestamp) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found < 0 ? HEADER_LENGTH : current.offsets()[found];
+    }
+
+    int recordEnd(int offset) {
+        return offset + 4 + buffer.getInt(offset);
+    }
+
+    long timestampAt(int offset) {
+        return buffer.getLong(offset + 4);
+    }
+
+    int baseSlotAt(int offset) {
+        return buffer.getShort(ratesOffset(offset) - 4);
+    }
+
+    /**
+     * Decodes the rates of a record, all of them or only the slots with a non-null entry in {@code wanted}.
+     */
+    RateHistoryPointDTO decode(int offset, String[] wanted) {
+        int cursor = ratesOffset(offset);
+        int rateCount = buffer.getShort(cursor - 2);
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (int i = 0; i < rateCount; i++, cursor += RATE_LENGTH) {
+            int slot = buffer.getShort(cursor);
+            String code = wanted == null ? codes.get(slot) : slot < wanted.length ? wanted[slot] : null;
+            if (code != null) {
+                rates.put(code, buffer.getDouble(cursor + 2));
+            }
+        }
+        return RateHistoryPointDTO.builder()
+                .timestamp(Instant.ofEpochMilli(timestampAt(offset)))
+                .rates(rates)
+                .build();
+    }
+
+    private int ratesOffset(int offset) {
+        int cursor = offset + 12;
+        int newCodes = buffer.getShort(cursor);
+        cursor += 2;
+        for (int i = 0; i < newCodes; i++) {
+            cursor += 1 + (buffer.get(cursor) & 0xFF);
+        }
+        return cursor + 4;
+    }
+
+    Integer slotOf(String code) {
+        return slots.get(code);
+    }
+
+    int codeCount() {
+        return codes.size();
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Entries below {@code size} never change once published, a full index is copied into larger arrays.
+     */
+    private record SparseIndex(long[] timestamps, int[] offsets, int size) {
+
+        SparseIndex add(long timestamp, int offset) {
+            long[] newTimestamps = timestamps;
+            int[] newOffsets = offsets;
+            if (size == timestamps.length) {
+                newTimestamps = Arrays.copyOf(timestamps, size * 2);
+                newOffsets = Arrays.copyOf(offsets, size * 2);
+            }
+            newTimestamps[size] = timestamp;
+            newOffsets[size] = offset;
+            return new SparseIndex(newTimestamps, newOffsets, size + 1);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.exchange.rates.service.history;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.dto.RateHistoryPointDTO;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:10 PM
+ * Append-only history of aggregated snapshots in memory-mapped {@link HistorySegment} files, named
+ * after their first timestamp so that the directory listing is in time order. Snapshots are handed
+ * to a single writer thread, which keeps file I/O off the event loops and makes appends lock-free.
+ * Timestamps are clamped to be non-decreasing, so a range scan starts from the sparse index of the
+ * first overlapping segment and stops at the first record past the range, and segments without
+ * the base are skipped through their dictionary without being read.
+ */
+
+@Log4j2
+@Component
+public class RateHistoryStore implements DisposableBean {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final Duration retention;
+    private final Executor writer;
+    private final List<HistorySegment> segments = new CopyOnWriteArrayList<>();
+    private final boolean enabled;
+    private HistorySegment activeSegment;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    @Autowired
+    public RateHistoryStore(@Value("${exchange.history.enabled:true}") boolean enabled,
+                            @Value("${exchange.history.directory:data/history}") String directory,
+                            @Value("${exchange.history.segment-size:64MB}") DataSize segmentSize,
+                            @Value("${exchange.history.index-interval:64}") int indexInterval,
+                            @Value("${exchange.history.retention:P400D}") Duration retention,
+                            @Value("${exchange.history.queue-capacity:10000}") int queueCapacity) {
+        this(enabled, Path.of(directory), segmentSize, indexInterval, retention, newWriter(queueCapacity));
+    }
+
+    RateHistoryStore(boolean enabled, Path directory, DataSize segmentSize, int indexInterval,
+                     Duration retention, Executor writer) {
+        this.directory = directory;
+        this.segmentSize = (int) Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.indexInterval = Math.max(indexInterval, 1);
+        this.retention = retention;
+        this.writer = writer;
+        this.enabled = enabled && openSegments();
+    }
+
+    private static ExecutorService newWriter(int queueCapacity) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rate-history-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private boolean openSegments() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> paths;
+            try (Stream<Path> files = Files.list(directory)) {
+                paths = files.filter(path -> isSegment(path.getFileName().toString()))
+                        .sorted()
+                        .toList();
+            }
+            for (int i = 0; i < paths.size(); i++) {
+                boolean last = i == paths.size() - 1;
+                HistorySegment segment = HistorySegment.open(paths.get(i), last, indexInterval);
+                segments.add(segment);
+                lastTimestamp = Math.max(lastTimestamp, segment.lastTimestamp());
+                if (last) {
+                    activeSegment = segment;
+                }
+            }
+            log.info("Opened rate history in {} with {} segments", directory.toAbsolutePath(), segments.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Rate history disabled, cannot open {}: {}", directory.toAbsolutePath(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isSegment(String fileName) {
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Queues the snapshot for appending. Never blocks: when the writer falls behind by more than
+     * the queue capacity the snapshot is dropped.
+     */
+    public void append(ExchangeRateResponseDTO snapshot) {
+        if (!enabled || snapshot.getBase() == null || snapshot.getRates() == null || snapshot.getRates().isEmpty()) {
+            return;
+        }
+        String base = snapshot.getBase();
+        Map<String, Double> rates = snapshot.getRates();
+        long timestamp = (snapshot.getTimestamp() != null ? snapshot.getTimestamp() : Instant.now()).toEpochMilli();
+        try {
+            writer.execute(() -> write(base, timestamp, rates));
+        } catch (RejectedExecutionException e) {
+            log.warn("Rate history writer is saturated, dropped the {} snapshot", base);
+        }
+    }
+
+    private void write(String base, long timestamp, Map<String, Double> rates) {
+        try {
+            long recordTimestamp = Math.max(timestamp, lastTimestamp);
+            if (activeSegment == null || !activeSegment.append(recordTimestamp, base, rates, indexInterval)) {
+                roll(recordTimestamp);
+                if (!activeSegment.append(recordTimestamp, base, rates, indexInterval)) {
+                    log.warn("The {} snapshot with {} rates does not fit into a history segment", base, rates.size());
+                    return;
+                }
+            }
+            lastTimestamp = recordTimestamp;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to append the {} snapshot to the rate history: {}", base, e.getMessage());
+        }
+    }
+
+    private void roll(long firstTimestamp) throws IOException {
+        if (activeSegment != null) {
+            activeSegment.force();
+        }
+        long name = firstTimestamp;
+        Path path = directory.resolve(segmentFileName(name));
+        while (Files.exists(path)) {
+            path = directory.resolve(segmentFileName(++name));
+        }
+        HistorySegment segment = HistorySegment.create(path, segmentSize, firstTimestamp);
+        segments.add(segment);
+        activeSegment = segment;
+        log.info("Started rate history segment {}", path.getFileName());
+        deleteExpiredSegments();
+    }
+
+    private static String segmentFileName(long firstTimestamp) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstTimestamp, SEGMENT_SUFFIX);
+    }
+
+    private void deleteExpiredSegments() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        for (HistorySegment segment : segments) {
+            if (segment != activeSegment && segment.lastTimestamp() < cutoff) {
+                // Running scans keep reading their mapping after the file is gone
+                segments.remove(segment);
+                try {
+                    Files.deleteIfExists(segment.path());
+                    log.info("Deleted expired rate history segment {}", segment.path().getFileName());
+                } catch (IOException e) {
+                    log.warn("Failed to delete rate history segment {}: {}", segment.path(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams the snapshots of a base within {@code [from, to]} in time order. With an interval only the
+     * last snapshot of each interval-aligned bucket is decoded and emitted; the others are skipped by
+     * their header. Empty symbols return every rate. Reads page the mapped files in, so they run on
+     * the bounded elastic scheduler.
+     */
+    public Flux<RateHistoryPointDTO> scan(String base, Instant from, Instant to, List<String> symbols, Duration interval) {
+        if (!enabled) {
+            return Flux.empty();
+        }
+        return Flux.<RateHistoryPointDTO, Cursor>generate(
+                        () -> new Cursor(base, from.toEpochMilli(), to.toEpochMilli(), symbols,
+                                interval != null ? interval.toMillis() : 0),
+                        (cursor, sink) -> {
+                            RateHistoryPointDTO point = cursor.next();
+                            if (point != null) {
+                                sink.next(point);
+                            } else {
+                                sink.complete();
+                            }
+                            return cursor;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer instanceof ExecutorService executor) {
+            executor.shutdown();
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Rate history writer did not drain within 5 seconds");
+            }
+        }
+        if (activeSegment != null) {
+            activeSegment.force();
+        }
+    }
+
+    private final class Cursor {
+
+        private final String base;
+        private final long from;
+        private final long to;
+        private final List<String> symbols;
+        private final long intervalMillis;
+        private final List<HistorySegment> overlapping = new ArrayList<>();
+        private int nextSegment;
+        private HistorySegment segment;
+        private int position;
+        private int limit;
+        private int baseSlot;
+        private String[] wanted;
+        private boolean finished;
+        private long matchTimestamp;
+        private HistorySegment pendingSegment;
+        private int pendingOffset;
+        private String[] pendingWanted;
+        private long pendingBucket;
+
+        private Cursor(String base, long from, long to, List<String> symbols, long intervalMillis) {
+            this.base = base;
+            this.from = from;
+            this.to = to;
+            this.symbols = symbols;
+            this.intervalMillis = intervalMillis;
+            for (HistorySegment candidate : segments) {
+                if (candidate.firstTimestamp() <= to && candidate.lastTimestamp() >= from) {
+                    overlapping.add(candidate);
+                }
+            }
+        }
+
+        /**
+         * @return the next point to emit, null at the end of the range
+         */
+        RateHistoryPointDTO next() {
+            while (true) {
+                int offset = nextMatch();
+                if (offset < 0) {
+                    RateHistoryPointDTO last = pendingSegment != null ? pendingSegment.decode(pendingOffset, pendingWanted) : null;
+                    pendingSegment = null;
+                    return last;
+                }
+                if (intervalMillis <= 0) {
+                    return segment.decode(offset, wanted);
+                }
+                long bucket = Math.floorDiv(matchTimestamp, intervalMillis);
+                RateHistoryPointDTO completed = pendingSegment != null && bucket != pendingBucket
+                        ? pendingSegment.decode(pendingOffset, pendingWanted)
+                        : null;
+                pendingSegment = segment;
+                pendingOffset = offset;
+                pendingWanted = wanted;
+                pendingBucket = bucket;
+                if (completed != null) {
+                    return completed;
+                }
+            }
+        }
+
+        private int nextMatch() {
+            while (!finished) {
+                if (segment == null && !openNextSegment()) {
+                    finished = true;
+                    break;
+                }
+                if (position >= limit) {
+                    segment = null;
+                    continue;
+                }
+                int offset = position;
+                position = segment.recordEnd(offset);
+                long timestamp = segment.timestampAt(offset);
+                if (timestamp > to) {
+                    finished = true;
+                    break;
+                }
+                if (timestamp >= from && segment.baseSlotAt(offset) == baseSlot) {
+                    matchTimestamp = timestamp;
+                    return offset;
+                }
+            }
+            return -1;
+        }
+
+        private boolean openNextSegment() {
+            while (nextSegment < overlapping.size()) {
+                HistorySegment candidate = overlapping.get(nextSegment++);
+                Integer slot = candidate.slotOf(base);
+                if (slot == null) {
+                    continue;
+                }
+                // Limit first: every slot used below it is registered by then
+                limit = candidate.limit();
+                baseSlot = slot;
+                position = candidate.startOffset(from);
+                wanted = wantedSlots(candidate);
+                segment = candidate;
+                return true;
+            }
+            return false;
+        }
+
+        private String[] wantedSlots(HistorySegment candidate) {
+            if (symbols.isEmpty()) {
+                return null;
+            }
+            String[] slots = new String[candidate.codeCount()];
+            for (String symbol : symbols) {
+                Integer slot = candidate.slotOf(symbol);
+                if (slot != null && slot < slots.length) {
+                    slots[slot] = symbol;
+                }
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.exchange.rates;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.dto.RateQuoteDTO;
+import com.exchange.rates.exception.ExchangeRateException;
+import com.exchange.rates.service.ConversionService;
+import com.exchange.rates.service.ConversionSnapshot;
+import com.exchange.rates.service.RateQuoteService;
+import com.exchange.rates.service.RateStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 09:10 PM
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "exchange.stream.heartbeat-interval=PT0.1S")
+@ActiveProfiles("reactive")
+class ReactiveModeTest {
+
+    @Autowired
+    ApplicationContext context;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockitoBean
+    ConversionService conversionService;
+
+    @MockitoBean
+    RateQuoteService rateQuoteService;
+
+    @MockitoBean
+    RateStreamService rateStreamService;
+
+    @Test
+    void runsWebFluxOnNetty() {
+        ReactiveWebServerApplicationContext webContext = assertInstanceOf(ReactiveWebServerApplicationContext.class, context);
+        assertInstanceOf(NettyWebServer.class, webContext.getWebServer());
+    }
+
+    @Test
+    void servesMetrics() {
+        webTestClient.get().uri("/metrics")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.totalQueries").isEqualTo(0);
+    }
+
+    @Test
+    void mapsExchangeRateExceptionToBadRequest() {
+        webTestClient.post().uri("/exchangeRates/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("At least one query is required")
+                .jsonPath("$.path").isEqualTo("/exchangeRates/batch");
+    }
+
+    @Test
+    void rejectsNullBatchQuery() {
+        webTestClient.post().uri("/exchangeRates/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"queries\":[null]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Batch queries must not be null");
+    }
+
+    @Test
+    void convertsNdjsonStream() {
+        when(conversionService.getSnapshot()).thenReturn(Mono.just(
+                new ConversionSnapshot("EUR@2026-10-18T12:00:00Z", "EUR", Map.of("USD", 1.25, "JPY", 160.0))));
+
+        String results = webTestClient.post().uri("/convert/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"from\":\"USD\",\"to\":\"JPY\",\"amount\":10}\n{\"from\":\"EUR\",\"to\":\"XXX\",\"amount\":1}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Rate-Snapshot", "EUR@2026-10-18T12:00:00Z")
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(results);
+        assertEquals("{\"from\":\"USD\",\"to\":\"JPY\",\"amount\":10.0,\"rate\":128.0,\"converted\":1280.0}\n"
+                + "{\"from\":\"EUR\",\"to\":\"XXX\",\"amount\":1.0,\"error\":\"Unsupported currency XXX\"}\n", results);
+    }
+
+    @Test
+    void servesSingleRateQuote() {
+        when(rateQuoteService.getQuote("usd", "JPY")).thenReturn(Mono.just(new RateQuoteDTO("USD", "JPY", 128.0,
+                Instant.parse("2026-10-18T12:00:00Z"), "EUR@2026-10-18T12:00:00Z")));
+
+        webTestClient.get().uri("/rate/usd/JPY")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.from").isEqualTo("USD")
+                .jsonPath("$.rate").isEqualTo(128.0)
+                .jsonPath("$.version").isEqualTo("EUR@2026-10-18T12:00:00Z");
+    }
+
+    @Test
+    void failedFirstStreamLoad_isAnsweredWithErrorStatus() {
+        when(rateStreamService.streamExchangeRates("XXX", null))
+                .thenReturn(Flux.error(new ExchangeRateException("Unsupported currency XXX")));
+
+        webTestClient.get().uri("/exchangeRates/XXX/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void rateStream_endsWhenUpdatesEnd() {
+        ExchangeRateResponseDTO table = ExchangeRateResponseDTO.builder().base("EUR").rates(Map.of("USD", 1.1)).build();
+        when(rateStreamService.streamExchangeRates("EUR", null))
+                .thenReturn(Flux.just(table).concatWith(Mono.delay(Duration.ofMillis(350)).then(Mono.empty())));
+
+        Flux<String> events = webTestClient.get().uri("/exchangeRates/EUR/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        // Heartbeats are comments, which the decoder skips: the stream holds the update and then completes
+        StepVerifier.create(events)
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+}
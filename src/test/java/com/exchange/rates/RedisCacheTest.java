@@ -1,18 +1,26 @@
 package com.exchange.rates;
 
 import com.exchange.rates.config.RedisConfig;
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,4 +61,44 @@ class RedisCacheTest {
         assertInstanceOf(GenericJackson2JsonRedisSerializer.class, template.getHashValueSerializer());
     }
 
+    @Test
+    void reactiveRedisTemplate_shouldRoundTripResponsesWithBinarySerializer() {
+        ReactiveRedisConnectionFactory mockConnectionFactory = Mockito.mock(ReactiveRedisConnectionFactory.class);
+
+        ReactiveRedisTemplate<String, Object> template = redisConfig.reactiveRedisTemplate(mockConnectionFactory, 1024);
+        RedisSerializationContext.SerializationPair<Object> valuePair =
+                template.getSerializationContext().getValueSerializationPair();
+
+        ExchangeRateResponseDTO response = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.1))
+                .timestamp(Instant.now())
+                .build();
+
+        ByteBuffer written = valuePair.write(response);
+
+        assertSame(mockConnectionFactory, template.getConnectionFactory());
+        assertEquals((byte) 0xB1, written.get(0));
+        assertEquals(response, valuePair.read(written));
+    }
+
+    @Test
+    void reactiveRedisTemplate_shouldStillReadJsonEntries() {
+        ReactiveRedisTemplate<String, Object> template = redisConfig.reactiveRedisTemplate(
+                Mockito.mock(ReactiveRedisConnectionFactory.class), 1024);
+        GenericJackson2JsonRedisSerializer legacySerializer = new GenericJackson2JsonRedisSerializer()
+                .configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+
+        ExchangeRateResponseDTO response = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.1))
+                .timestamp(Instant.now())
+                .build();
+
+        Object read = template.getSerializationContext().getValueSerializationPair()
+                .read(ByteBuffer.wrap(legacySerializer.serialize(response)));
+
+        assertEquals(response, read);
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.exchange.rates;
+
+import com.exchange.rates.service.ConversionService;
+import com.exchange.rates.service.ConversionSnapshot;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 09:10 PM
+ */
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("servlet")
+class ServletModeTest {
+
+    @Autowired
+    ApplicationContext context;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockitoBean
+    ConversionService conversionService;
+
+    @Test
+    void runsTomcatOnVirtualThreads() {
+        ServletWebServerApplicationContext webContext = assertInstanceOf(ServletWebServerApplicationContext.class, context);
+        TomcatWebServer webServer = assertInstanceOf(TomcatWebServer.class, webContext.getWebServer());
+        assertInstanceOf(VirtualThreadExecutor.class,
+                webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+    }
+
+    @Test
+    void servesMetrics() {
+        webTestClient.get().uri("/metrics")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.totalQueries").isEqualTo(0);
+    }
+
+    @Test
+    void mapsExchangeRateExceptionToBadRequest() {
+        webTestClient.post().uri("/exchangeRates/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("At least one query is required")
+                .jsonPath("$.path").isEqualTo("/exchangeRates/batch");
+    }
+
+    @Test
+    void convertsNdjsonStream() {
+        when(conversionService.getSnapshot()).thenReturn(Mono.just(
+                new ConversionSnapshot("EUR@2026-10-18T12:00:00Z", "EUR", Map.of("USD", 1.25, "JPY", 160.0))));
+
+        String results = webTestClient.post().uri("/convert/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"from\":\"USD\",\"to\":\"JPY\",\"amount\":10}\n{\"from\":\"EUR\",\"to\":\"XXX\",\"amount\":1}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Rate-Snapshot", "EUR@2026-10-18T12:00:00Z")
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(results);
+        assertEquals("{\"from\":\"USD\",\"to\":\"JPY\",\"amount\":10.0,\"rate\":128.0,\"converted\":1280.0}\n"
+                + "{\"from\":\"EUR\",\"to\":\"XXX\",\"amount\":1.0,\"error\":\"Unsupported currency XXX\"}\n", results);
+    }
+}
@@ -0,0 +1,23 @@
+package com.exchange.rates.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigurationProperties;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 03:10 AM
+ * Provider circuit breakers on fresh default registries, shared by the client and breaker tests.
+ */
+
+public final class CircuitBreakerFixtures {
+
+    private CircuitBreakerFixtures() {
+    }
+
+    public static ProviderCircuitBreakers circuitBreakers(ProviderHttpProperties properties) {
+        return new ProviderCircuitBreakers(new ReactiveResilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(),
+                TimeLimiterRegistry.ofDefaults(), new Resilience4JConfigurationProperties()), properties);
+    }
+}
@@ -0,0 +1,172 @@
+package com.exchange.rates.config;
+
+import com.exchange.rates.service.client.FrankfurterClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 07:30 PM
+ * Drives the Frankfurter client against a local stub provider.
+ */
+
+class ProviderCircuitBreakersTest {
+
+    private static final String RATES = "{\"amount\":1.0,\"base\":\"USD\",\"rates\":{\"EUR\":0.91}}";
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ProviderHttpProperties.Provider settings = new ProviderHttpProperties.Provider();
+    private ProviderWebClientFactory webClientFactory;
+    private ProviderCircuitBreakers circuitBreakers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> respond(exchange, 200, RATES));
+        server.createContext("/down", exchange -> respond(exchange, 503, "{}"));
+        server.createContext("/missing", exchange -> respond(exchange, 404, "{\"message\":\"not found\"}"));
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, RATES);
+        });
+        server.start();
+
+        settings.getCircuitBreaker().setSlidingWindowSize(4);
+        settings.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        settings.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        webClientFactory.destroy();
+    }
+
+    @Test
+    void failingProvider_opensBreakerAndSkipsFurtherCalls() {
+        FrankfurterClient client = client("/down");
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(client.getExchangeRates("USD", null)).verifyComplete();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.state("frankfurter"));
+
+        StepVerifier.create(client.getExchangeRates("USD", null)).verifyComplete();
+        assertEquals(4, hits.get());
+        assertEquals(1, circuitBreakers.snapshot().get(0).getNotPermittedCalls());
+        assertEquals(Status.DOWN, new ProviderHealthIndicator(circuitBreakers).health().getStatus());
+    }
+
+    @Test
+    void clientErrors_doNotOpenBreaker() {
+        FrankfurterClient client = client("/missing");
+
+        for (int i = 0; i < 6; i++) {
+            StepVerifier.create(client.getExchangeRates("XXX", null)).verifyComplete();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.state("frankfurter"));
+        assertEquals(6, hits.get());
+    }
+
+    @Test
+    void slowProvider_isCutByTimeLimitAndCountedAsFailure() {
+        settings.setTimeLimit(Duration.ofMillis(200));
+        FrankfurterClient client = client("/slow");
+
+        StepVerifier.create(client.getExchangeRates("USD", null))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(1, circuitBreakers.snapshot().get(0).getFailedCalls());
+    }
+
+    @Test
+    void fullBulkhead_rejectsCallWithoutReachingProvider() {
+        settings.setMaxConcurrentCalls(1);
+        FrankfurterClient client = client("/slow");
+
+        client.getExchangeRates("USD", null).subscribe();
+
+        StepVerifier.create(client.getExchangeRates("USD", null))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        release.countDown();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.state("frankfurter"));
+    }
+
+    @Test
+    void failedCall_surfacesOriginalException() {
+        client("/ok");
+
+        StepVerifier.create(circuitBreakers.run("frankfurter", Mono.error(new IllegalStateException("upstream down"))))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(IllegalStateException.class, e);
+                    assertEquals("upstream down", e.getMessage());
+                })
+                .verify(Duration.ofSeconds(1));
+        assertEquals(1, circuitBreakers.snapshot().get(0).getFailedCalls());
+    }
+
+    @Test
+    void healthyProvider_isReportedUpWithBreakerDetails() {
+        FrankfurterClient client = client("/ok");
+
+        StepVerifier.create(client.getExchangeRates("USD", null))
+                .assertNext(response -> assertEquals(Map.of("EUR", 0.91), response.getRates()))
+                .verifyComplete();
+
+        var health = new ProviderHealthIndicator(circuitBreakers).health();
+        assertEquals(Status.UP, health.getStatus());
+        assertTrue(health.getDetails().containsKey("frankfurter"));
+        assertEquals(1, circuitBreakers.snapshot().get(0).getBufferedCalls());
+    }
+
+    private FrankfurterClient client(String path) {
+        ProviderHttpProperties properties = new ProviderHttpProperties();
+        properties.setApi(Map.of("frankfurter", settings));
+        webClientFactory = new ProviderWebClientFactory(WebClient.builder(), properties);
+        circuitBreakers = CircuitBreakerFixtures.circuitBreakers(properties);
+        return new FrankfurterClient(webClientFactory, circuitBreakers,
+                "http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        hits.incrementAndGet();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
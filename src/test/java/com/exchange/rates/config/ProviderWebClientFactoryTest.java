@@ -0,0 +1,124 @@
+package com.exchange.rates.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 05:35 PM
+ */
+
+class ProviderWebClientFactoryTest {
+
+    private HttpServer server;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ProviderWebClientFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/fast", exchange -> respond(exchange, "{\"ok\":true}"));
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{\"ok\":true}");
+        });
+        server.start();
+
+        ProviderHttpProperties properties = new ProviderHttpProperties();
+        ProviderHttpProperties.Provider slow = new ProviderHttpProperties.Provider();
+        slow.setMaxConnections(1);
+        slow.setPendingAcquireMaxCount(1);
+        slow.setResponseTimeout(Duration.ofMillis(300));
+        properties.setApi(Map.of("slow", slow));
+        factory = new ProviderWebClientFactory(WebClient.builder(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        factory.destroy();
+    }
+
+    @Test
+    void responseTimeout_failsSlowProviderCalls() {
+        WebClient slow = factory.create("slow");
+
+        StepVerifier.create(slow.get().uri(url("/slow")).retrieve().bodyToMono(String.class))
+                .expectError(WebClientRequestException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void poolsAreSeparate_slowProviderDoesNotBlockOthers() {
+        WebClient slow = factory.create("slow");
+        WebClient fast = factory.create("fast");
+
+        // Occupy the slow provider's only connection
+        slow.get().uri(url("/slow")).retrieve().bodyToMono(String.class).subscribe(body -> { }, e -> { });
+
+        StepVerifier.create(fast.get().uri(url("/fast")).retrieve().bodyToMono(String.class))
+                .expectNext("{\"ok\":true}")
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void defaults_applyToUnconfiguredProviders() {
+        ProviderHttpProperties.Provider defaults = new ProviderHttpProperties().provider("unknown");
+        HttpClient httpClient = factory.httpClient("unknown", defaults);
+
+        assertEquals(50, defaults.getMaxConnections());
+        assertEquals(List.of(HttpProtocol.HTTP11), defaults.getProtocols());
+        assertEquals(Duration.ofSeconds(5), httpClient.configuration().responseTimeout());
+    }
+
+    @Test
+    void uriTag_collapsesDatesBasesAndQueries() {
+        assertEquals("/latest", ProviderWebClientFactory.uriTag("/latest?from=USD"));
+        assertEquals("/{date}", ProviderWebClientFactory.uriTag("/2024-01-01?from=USD"));
+        assertEquals("/npm/@fawazahmed0/currency-api@latest/v1/currencies/{base}.json",
+                ProviderWebClientFactory.uriTag("/npm/@fawazahmed0/currency-api@latest/v1/currencies/usd.json"));
+        assertEquals("/npm/@fawazahmed0/currency-api@{date}/v1/currencies/{base}.json",
+                ProviderWebClientFactory.uriTag("/npm/@fawazahmed0/currency-api@2024-01-01/v1/currencies/eur.json"));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
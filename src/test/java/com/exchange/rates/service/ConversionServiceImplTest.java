@@ -0,0 +1,78 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ConversionRequestDTO;
+import com.exchange.rates.dto.ConversionResultDTO;
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 01:30 AM
+ */
+
+class ConversionServiceImplTest {
+
+    @Mock
+    ExchangeRateService exchangeRateService;
+
+    @InjectMocks
+    ConversionServiceImpl conversionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(conversionService, "conversionBase", "eur");
+        when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(Mono.just(ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.25, "JPY", 160.0, "XAU", 0.0))
+                .timestamp(Instant.parse("2026-10-18T12:00:00Z"))
+                .build()));
+    }
+
+    private static ConversionRequestDTO request(String from, String to, Double amount) {
+        return new ConversionRequestDTO(from, to, amount);
+    }
+
+    @Test
+    void getSnapshot_isVersionedByBaseAndTableTimestamp() {
+        StepVerifier.create(conversionService.getSnapshot())
+                .assertNext(snapshot -> assertEquals("EUR@2026-10-18T12:00:00Z", snapshot.version()))
+                .verifyComplete();
+    }
+
+    @Test
+    void convert_crossesThroughTheBase() {
+        ConversionSnapshot snapshot = conversionService.getSnapshot().block();
+
+        ConversionResultDTO cross = snapshot.convert(request("usd", "JPY", 10.0));
+        assertEquals(128.0, cross.getRate(), 1e-12);
+        assertEquals(1280.0, cross.getConverted(), 1e-9);
+        assertEquals("usd", cross.getFrom());
+
+        assertEquals(1.25, snapshot.convert(request("EUR", "USD", 1.0)).getConverted(), 1e-12);
+        assertEquals(0.8, snapshot.convert(request("USD", "EUR", 1.0)).getConverted(), 1e-12);
+    }
+
+    @Test
+    void convert_reportsErrorsPerRecord() {
+        ConversionSnapshot snapshot = conversionService.getSnapshot().block();
+
+        assertEquals("Unsupported currency ABC", snapshot.convert(request("ABC", "USD", 1.0)).getError());
+        assertEquals("Unsupported currency XAU", snapshot.convert(request("USD", "XAU", 1.0)).getError());
+        assertEquals("Amount is required", snapshot.convert(request("USD", "JPY", null)).getError());
+        assertNull(snapshot.convert(request("USD", "JPY", null)).getConverted());
+    }
+}
@@ -0,0 +1,69 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.aggregation.CurrencyIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 02:00 AM
+ */
+
+class CrossRateMatrixTest {
+
+    private static CrossRateMatrix matrixOf(Map<String, Double> rates) {
+        return CrossRateMatrix.of(ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(rates)
+                .timestamp(Instant.parse("2026-10-18T12:00:00Z"))
+                .build());
+    }
+
+    @Test
+    void rate_matchesCrossDivisionForEveryPair() {
+        CrossRateMatrix matrix = matrixOf(Map.of("USD", 1.10, "GBP", 0.85, "JPY", 165.0));
+
+        assertEquals(4, matrix.size());
+        assertEquals(165.0 / 1.10, matrix.rate("USD", "JPY"), 1e-12);
+        assertEquals(0.85 / 165.0, matrix.rate("JPY", "GBP"), 1e-12);
+        assertEquals(1 / 1.10, matrix.rate("USD", "EUR"), 1e-12);
+        assertEquals(1.10, matrix.rate("EUR", "USD"), 1e-12);
+        assertEquals(1.0, matrix.rate("GBP", "GBP"), 1e-12);
+        assertEquals("EUR@2026-10-18T12:00:00Z", matrix.version());
+    }
+
+    @Test
+    void rate_leavesOutUnusableRatesAndUnknownCodes() {
+        Map<String, Double> rates = new HashMap<>(Map.of("USD", 1.10, "XAU", 0.0, "XAG", Double.NaN));
+        rates.put("CHF", null);
+        CrossRateMatrix matrix = matrixOf(rates);
+
+        assertEquals(2, matrix.size());
+        assertTrue(Double.isNaN(matrix.rate("USD", "XAU")));
+        assertTrue(Double.isNaN(matrix.rate("XAG", "USD")));
+        assertTrue(Double.isNaN(matrix.rate("CHF", "EUR")));
+        assertTrue(Double.isNaN(matrix.rate("NOT-A-CODE", "USD")));
+        assertTrue(Double.isNaN(matrix.rate(null, "USD")));
+        assertFalse(matrix.contains("usd"));
+    }
+
+    @Test
+    void rate_coversCodesTheIndexHasNotSeenYet() {
+        // Stands in for a crypto code that no table of this JVM carried before
+        String coin = "MATRIXCOIN";
+        assertEquals(-1, CurrencyIndex.existingSlotOf(coin));
+
+        CrossRateMatrix matrix = matrixOf(Map.of("USD", 1.10, coin, 0.00002));
+
+        assertEquals(3, matrix.size());
+        assertTrue(matrix.contains(coin));
+        assertEquals(0.00002 / 1.10, matrix.rate("USD", coin), 1e-18);
+        assertEquals(1 / 0.00002, matrix.rate(coin, "EUR"), 1e-6);
+    }
+}
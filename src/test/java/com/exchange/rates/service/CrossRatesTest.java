@@ -0,0 +1,40 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 01:25 PM
+ */
+
+class CrossRatesTest {
+
+    private final ExchangeRateResponseDTO eurTable = ExchangeRateResponseDTO.builder()
+            .datasource("Aggregated from multiple sources")
+            .base("EUR")
+            .rates(Map.of("USD", 1.10, "GBP", 0.85, "JPY", 165.0))
+            .build();
+
+    @Test
+    void derive_computesCrossRatesAndPivotRate() {
+        ExchangeRateResponseDTO gbp = CrossRates.derive(eurTable, "GBP");
+
+        assertNotNull(gbp);
+        assertEquals("GBP", gbp.getBase());
+        assertEquals(1.10 / 0.85, gbp.getRates().get("USD"), 1e-12);
+        assertEquals(165.0 / 0.85, gbp.getRates().get("JPY"), 1e-12);
+        assertEquals(1 / 0.85, gbp.getRates().get("EUR"), 1e-12);
+        assertEquals(1.0, gbp.getRates().get("GBP"), 1e-12);
+        assertTrue(gbp.getDatasource().contains("derived via EUR"));
+    }
+
+    @Test
+    void derive_baseMissingFromPivotTable_returnsNull() {
+        assertNull(CrossRates.derive(eurTable, "XYZ"));
+    }
+}
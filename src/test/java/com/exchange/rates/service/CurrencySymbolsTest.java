@@ -0,0 +1,58 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 12:40 PM
+ */
+
+class CurrencySymbolsTest {
+
+    @Test
+    void normalizeSymbols_equivalentLists_haveSameCanonicalForm() {
+        List<String> expected = List.of("NZD", "USD");
+
+        assertEquals(expected, CurrencySymbols.normalizeSymbols("USD,NZD"));
+        assertEquals(expected, CurrencySymbols.normalizeSymbols("NZD,USD"));
+        assertEquals(expected, CurrencySymbols.normalizeSymbols("usd, nzd"));
+        assertEquals(expected, CurrencySymbols.normalizeSymbols("usd,,NZD,USD"));
+    }
+
+    @Test
+    void normalizeSymbols_missingValue_meansAllSymbols() {
+        assertTrue(CurrencySymbols.normalizeSymbols(null).isEmpty());
+        assertTrue(CurrencySymbols.normalizeSymbols(" ").isEmpty());
+    }
+
+    @Test
+    void slice_keepsOnlyRequestedKnownSymbols() {
+        ExchangeRateResponseDTO table = ExchangeRateResponseDTO.builder()
+                .datasource("source")
+                .base("EUR")
+                .rates(Map.of("USD", 1.1, "GBP", 0.85, "JPY", 160.0))
+                .build();
+
+        ExchangeRateResponseDTO slice = CurrencySymbols.slice(table, List.of("GBP", "USD", "XXX"));
+
+        assertEquals("EUR", slice.getBase());
+        assertEquals("source", slice.getDatasource());
+        assertEquals(Map.of("GBP", 0.85, "USD", 1.1), slice.getRates());
+    }
+
+    @Test
+    void slice_noSymbols_returnsFullTable() {
+        ExchangeRateResponseDTO table = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.1))
+                .build();
+
+        assertSame(table, CurrencySymbols.slice(table, List.of()));
+    }
+}
@@ -1,22 +1,47 @@
 package com.exchange.rates.service;
 
+import com.exchange.rates.dto.ExchangeRateBatchItemDTO;
+import com.exchange.rates.dto.ExchangeRateQueryDTO;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.exception.ExchangeRateException;
+import com.exchange.rates.service.aggregation.ProviderFanOut;
+import com.exchange.rates.service.aggregation.ProviderRouter;
+import com.exchange.rates.service.aggregation.RoutingMode;
+import com.exchange.rates.service.cache.CacheFreshnessPolicy;
+import com.exchange.rates.service.cache.HistoricalRateCache;
+import com.exchange.rates.service.cache.LocalRateCache;
+import com.exchange.rates.service.cache.RateTableStore;
+import com.exchange.rates.service.cache.RequestCoalescer;
+import com.exchange.rates.service.cache.ValueRateTableStore;
 import com.exchange.rates.service.client.ExchangeRateClient;
+import com.exchange.rates.service.history.RateHistoryStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,22 +62,40 @@ class ExchangeRateServiceImplTest {
     MetricsService metricsService;
 
     @Mock
-    RedisTemplate<String, Object> redisTemplate;
+    RateHistoryStore rateHistoryStore;
 
     @Mock
-    ValueOperations<String, Object> valueOps;
+    ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Mock
+    ReactiveValueOperations<String, Object> valueOps;
 
     @InjectMocks
     ExchangeRateServiceImpl service;
 
+    LocalRateCache localRateCache;
+
+    HistoricalRateCache historicalRateCache;
+
+    @TempDir
+    Path historicalDirectory;
+
     private static final String BASE = "USD";
     private static final String SYMBOLS = "EUR,GBP";
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        service = new ExchangeRateServiceImpl(List.of(client1, client2), metricsService, redisTemplate);
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        localRateCache = new LocalRateCache(metricsService, 1_000, Duration.ofMinutes(1));
+        historicalRateCache = new HistoricalRateCache(metricsService, 1_000, historicalDirectory.toString(), 1024);
+        service = new ExchangeRateServiceImpl(List.of(client1, client2), metricsService,
+                new ProviderFanOut(List.of(client1, client2), metricsService,
+                        new ProviderRouter(metricsService, RoutingMode.ALL, 2, "", 50, 0.5, Duration.ofMinutes(1)),
+                        Duration.ofSeconds(3), 0, false, Duration.ofMillis(200)),
+                new ValueRateTableStore(reactiveRedisTemplate), localRateCache, new RequestCoalescer(metricsService),
+                new CacheFreshnessPolicy(Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(30), 0.1),
+                rateHistoryStore, historicalRateCache);
+        lenient().when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOps);
     }
 
     @Test
@@ -61,10 +104,11 @@ class ExchangeRateServiceImplTest {
                 .base(BASE)
                 .rates(Map.of("EUR", 1.1, "GBP", 0.9))
                 .datasource("cached")
+                .timestamp(Instant.now())
                 .build();
 
-        String cacheKey = "exchangeRates::USD::EUR,GBP";
-        when(valueOps.get(cacheKey)).thenReturn(cachedResponse);
+        String cacheKey = "exchangeRates::USD";
+        when(valueOps.get(cacheKey)).thenReturn(Mono.just(cachedResponse));
         when(client1.getDataSourceName()).thenReturn("client1");
         when(client2.getDataSourceName()).thenReturn("client2");
 
@@ -76,10 +120,37 @@ class ExchangeRateServiceImplTest {
         verify(metricsService, times(1)).incrementCacheHit("client2");
     }
 
+    @Test
+    void whenLocalCacheHit_thenRedisIsNotQueried() {
+        ExchangeRateResponseDTO cachedResponse = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.1, "GBP", 0.9))
+                .datasource("cached")
+                .timestamp(Instant.now())
+                .build();
+
+        String cacheKey = "exchangeRates::USD";
+        when(valueOps.get(cacheKey)).thenReturn(Mono.just(cachedResponse));
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
+                .expectNextMatches(r -> r.getDatasource().equals("cached"))
+                .verifyComplete();
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
+                .expectNextMatches(r -> r.getDatasource().equals("cached"))
+                .verifyComplete();
+
+        verify(valueOps, times(1)).get(cacheKey);
+        verify(metricsService, times(1)).incrementLocalCacheHit();
+        verify(metricsService, times(2)).incrementCacheHit("client1");
+    }
+
     @Test
     void whenCacheMiss_thenAggregateRatesAndStoreInCache() {
-        String cacheKey = "exchangeRates::USD::EUR,GBP";
-        when(valueOps.get(cacheKey)).thenReturn(null);
+        String cacheKey = "exchangeRates::USD";
+        when(valueOps.get(cacheKey)).thenReturn(Mono.empty());
+        when(valueOps.set(eq(cacheKey), any(), any(Duration.class))).thenReturn(Mono.just(true));
 
         ExchangeRateResponseDTO r1 = ExchangeRateResponseDTO.builder()
                 .base(BASE)
@@ -93,8 +164,8 @@ class ExchangeRateServiceImplTest {
 
         when(client1.getDataSourceName()).thenReturn("client1");
         when(client2.getDataSourceName()).thenReturn("client2");
-        when(client1.getExchangeRates(BASE, SYMBOLS)).thenReturn(Mono.just(r1));
-        when(client2.getExchangeRates(BASE, SYMBOLS)).thenReturn(Mono.just(r2));
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(r1));
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(r2));
 
         StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
                 .expectNextMatches(result -> {
@@ -106,18 +177,20 @@ class ExchangeRateServiceImplTest {
                 })
                 .verifyComplete();
 
-        verify(valueOps).set(eq(cacheKey), any(), any());
+        verify(valueOps).set(eq(cacheKey), any(), any(Duration.class));
+        verify(rateHistoryStore).append(argThat(snapshot -> BASE.equals(snapshot.getBase())
+                && snapshot.getRates().size() == 2));
     }
 
     @Test
     void whenNoResponses_thenReturnError() {
-        when(valueOps.get(any())).thenReturn(null);
+        when(valueOps.get(any())).thenReturn(Mono.empty());
 
         when(client1.getDataSourceName()).thenReturn("client1");
         when(client2.getDataSourceName()).thenReturn("client2");
 
-        when(client1.getExchangeRates(BASE, SYMBOLS)).thenReturn(Mono.empty());
-        when(client2.getExchangeRates(BASE, SYMBOLS)).thenReturn(Mono.empty());
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.empty());
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.empty());
 
         StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
                 .expectErrorMatches(throwable ->
@@ -129,7 +202,7 @@ class ExchangeRateServiceImplTest {
 
     @Test
     void whenSomeClientsFail_thenStillReturnValidResponse() {
-        when(valueOps.get(any())).thenReturn(null);
+        when(valueOps.get(any())).thenReturn(Mono.empty());
 
         ExchangeRateResponseDTO validResponse = ExchangeRateResponseDTO.builder()
                 .base(BASE)
@@ -139,11 +212,363 @@ class ExchangeRateServiceImplTest {
         when(client1.getDataSourceName()).thenReturn("client1");
         when(client2.getDataSourceName()).thenReturn("client2");
 
-        when(client1.getExchangeRates(BASE, SYMBOLS)).thenReturn(Mono.error(new RuntimeException("fail")));
-        when(client2.getExchangeRates(BASE, SYMBOLS)).thenReturn(Mono.just(validResponse));
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.error(new RuntimeException("fail")));
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(validResponse));
+        when(valueOps.set(any(), any(), any(Duration.class))).thenReturn(Mono.just(true));
 
         StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
                 .expectNextMatches(r -> r.getRates().get("EUR") == 1.2)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenRedisUnavailable_thenFallBackToProviders() {
+        when(valueOps.get(any())).thenReturn(Mono.error(new RuntimeException("connection refused")));
+        when(valueOps.set(any(), any(), any(Duration.class))).thenReturn(Mono.error(new RuntimeException("connection refused")));
+
+        ExchangeRateResponseDTO validResponse = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.2, "GBP", 1.0))
+                .build();
+
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(validResponse));
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(validResponse));
+
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
+                .expectNextMatches(r -> r.getRates().get("EUR") == 1.2)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenConcurrentCacheMisses_thenProvidersAreCalledOnce() {
+        when(valueOps.get(any())).thenReturn(Mono.empty());
+        when(valueOps.set(any(), any(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        ExchangeRateResponseDTO validResponse = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.2, "GBP", 1.0))
+                .build();
+
+        Sinks.One<ExchangeRateResponseDTO> upstream = Sinks.one();
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(upstream.asMono());
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(validResponse));
+
+        Mono<List<ExchangeRateResponseDTO>> concurrent = Flux.range(0, 5)
+                .flatMap(i -> service.getExchangeRates(BASE, SYMBOLS))
+                .collectList();
+
+        StepVerifier.create(concurrent)
+                .then(() -> upstream.tryEmitValue(validResponse))
+                .expectNextMatches(responses -> responses.size() == 5)
+                .verifyComplete();
+
+        verify(client1, times(1)).getExchangeRates(BASE, null, null);
+        verify(valueOps, times(1)).set(any(), any(), any(Duration.class));
+        verify(metricsService, times(4)).incrementCoalescedRequest();
+    }
+
+    @Test
+    void whenSymbolSubsetsDiffer_thenOneFullTableServesAllOfThem() {
+        when(valueOps.get("exchangeRates::USD")).thenReturn(Mono.empty());
+        when(valueOps.set(eq("exchangeRates::USD"), any(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        ExchangeRateResponseDTO fullTable = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 0.9, "GBP", 0.8, "NZD", 1.7, "JPY", 150.0))
+                .build();
+
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(fullTable));
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(fullTable));
+
+        StepVerifier.create(service.getExchangeRates("usd", "nzd, eur"))
+                .expectNextMatches(r -> r.getBase().equals(BASE)
+                        && r.getRates().keySet().equals(Set.of("EUR", "NZD")))
+                .verifyComplete();
+        StepVerifier.create(service.getExchangeRates(BASE, "EUR,NZD,EUR"))
+                .expectNextMatches(r -> r.getRates().size() == 2)
+                .verifyComplete();
+        StepVerifier.create(service.getExchangeRates(BASE, null))
+                .expectNextMatches(r -> r.getRates().size() == 4)
+                .verifyComplete();
+
+        verify(client1, times(1)).getExchangeRates(BASE, null, null);
+        verify(valueOps, times(1)).get("exchangeRates::USD");
+    }
+
+    @Test
+    void whenTriangulationEnabled_thenBasesAreDerivedFromPivotTable() {
+        ReflectionTestUtils.setField(service, "triangulationEnabled", true);
+        ReflectionTestUtils.setField(service, "pivotCurrency", "EUR");
+
+        when(valueOps.get("exchangeRates::EUR")).thenReturn(Mono.empty());
+        when(valueOps.set(eq("exchangeRates::EUR"), any(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        ExchangeRateResponseDTO eurTable = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.10, "GBP", 0.85, "JPY", 165.0))
+                .build();
+
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates("EUR", null, null)).thenReturn(Mono.just(eurTable));
+        when(client2.getExchangeRates("EUR", null, null)).thenReturn(Mono.just(eurTable));
+
+        StepVerifier.create(service.getExchangeRates("GBP", "USD"))
+                .expectNextMatches(r -> r.getBase().equals("GBP")
+                        && r.getDatasource().contains("derived via EUR")
+                        && Math.abs(r.getRates().get("USD") - 1.10 / 0.85) < 1e-9)
+                .verifyComplete();
+        StepVerifier.create(service.getExchangeRates("JPY", "EUR"))
+                .expectNextMatches(r -> Math.abs(r.getRates().get("EUR") - 1 / 165.0) < 1e-12)
+                .verifyComplete();
+
+        verify(client1, times(1)).getExchangeRates(any(), any(), any());
+        verify(client2, times(1)).getExchangeRates(any(), any(), any());
+    }
+
+    @Test
+    void whenCachedEntryIsStale_thenServeItAndRefreshOnceInBackground() {
+        ExchangeRateResponseDTO staleResponse = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.1, "GBP", 0.9))
+                .datasource("cached")
+                .timestamp(Instant.now().minus(Duration.ofMinutes(7)))
+                .build();
+
+        ExchangeRateResponseDTO freshResponse = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.2, "GBP", 1.0))
+                .build();
+
+        Sinks.One<ExchangeRateResponseDTO> upstream = Sinks.one();
+        when(valueOps.get("exchangeRates::USD")).thenReturn(Mono.just(staleResponse));
+        when(valueOps.set(eq("exchangeRates::USD"), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(upstream.asMono());
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(freshResponse));
+
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
+                .expectNextMatches(r -> r.getDatasource().equals("cached"))
+                .verifyComplete();
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
+                .expectNextMatches(r -> r.getDatasource().equals("cached"))
+                .verifyComplete();
+
+        upstream.tryEmitValue(freshResponse);
+
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
+                .expectNextMatches(r -> r.getDatasource().contains("Aggregated"))
+                .verifyComplete();
+
+        verify(client1, times(1)).getExchangeRates(BASE, null, null);
+        verify(metricsService, times(1)).incrementBackgroundRefresh();
+        verify(metricsService, times(2)).incrementStaleHit();
+    }
+
+    @Test
+    void whenCachedEntryIsPastHardTtl_thenFetchFreshRates() {
+        ExchangeRateResponseDTO expiredResponse = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.1, "GBP", 0.9))
+                .datasource("cached")
+                .timestamp(Instant.now().minus(Duration.ofMinutes(30)))
+                .build();
+
+        ExchangeRateResponseDTO freshResponse = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.2, "GBP", 1.0))
+                .build();
+
+        when(valueOps.get("exchangeRates::USD")).thenReturn(Mono.just(expiredResponse));
+        when(valueOps.set(eq("exchangeRates::USD"), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(freshResponse));
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(freshResponse));
+
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS))
+                .expectNextMatches(r -> r.getDatasource().contains("Aggregated"))
+                .verifyComplete();
+
+        verify(metricsService, never()).incrementCacheHit(any());
+    }
+
+    @Test
+    void whenPastDateRequested_thenFetchedUpstreamOnceAndKeptOutOfRedisAndHistory() {
+        LocalDate date = LocalDate.now(ZoneOffset.UTC).minusDays(30);
+        ExchangeRateResponseDTO dated = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 0.9, "GBP", 0.8, "JPY", 150.0))
+                .date(date)
+                .build();
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, date)).thenReturn(Mono.just(dated));
+        when(client2.getExchangeRates(BASE, null, date)).thenReturn(Mono.just(dated));
+
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS, date))
+                .assertNext(result -> {
+                    assertEquals(date, result.getDate());
+                    assertEquals(Map.of("EUR", 0.9, "GBP", 0.8), result.getRates());
+                })
+                .verifyComplete();
+        StepVerifier.create(service.getExchangeRates(BASE, "JPY", date))
+                .assertNext(result -> assertEquals(Map.of("JPY", 150.0), result.getRates()))
+                .verifyComplete();
+
+        verify(client1, times(1)).getExchangeRates(BASE, null, date);
+        verify(client1, never()).getExchangeRates(BASE, null, null);
+        verifyNoInteractions(valueOps);
+        verify(rateHistoryStore, never()).append(any());
+        assertNull(localRateCache.get("exchangeRates::" + BASE));
+    }
+
+    @Test
+    void whenPastDateIsIncomplete_thenServedButFetchedAgainNextTime() {
+        LocalDate date = LocalDate.now(ZoneOffset.UTC).minusDays(30);
+        ExchangeRateResponseDTO dated = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 0.9))
+                .date(date)
+                .build();
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, date)).thenReturn(Mono.just(dated));
+        when(client2.getExchangeRates(BASE, null, date)).thenReturn(Mono.empty());
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(service.getExchangeRates(BASE, "EUR", date))
+                    .assertNext(result -> assertEquals(Map.of("EUR", 0.9), result.getRates()))
+                    .verifyComplete();
+        }
+
+        verify(client1, times(2)).getExchangeRates(BASE, null, date);
+        StepVerifier.create(historicalRateCache.get(BASE, date)).verifyComplete();
+    }
+
+    @Test
+    void whenFutureDateRequested_thenReturnError() {
+        StepVerifier.create(service.getExchangeRates(BASE, SYMBOLS, LocalDate.now(ZoneOffset.UTC).plusDays(2)))
+                .expectError(ExchangeRateException.class)
+                .verify();
+
+        verifyNoInteractions(client1, client2);
+    }
+
+    @Test
+    void whenBatchRequested_thenTablesAreLoadedOncePerBaseWithOneMultiGet() {
+        ExchangeRateResponseDTO eurTable = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.1, "GBP", 0.85))
+                .datasource("cached")
+                .timestamp(Instant.now())
+                .build();
+
+        ExchangeRateResponseDTO usdTable = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 0.9, "JPY", 150.0))
+                .build();
+
+        List<Object> cachedValues = new ArrayList<>();
+        cachedValues.add(eurTable);
+        cachedValues.add(null);
+        when(valueOps.multiGet(List.of("exchangeRates::EUR", "exchangeRates::USD"))).thenReturn(Mono.just(cachedValues));
+        when(valueOps.set(eq("exchangeRates::USD"), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(usdTable));
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(usdTable));
+
+        List<ExchangeRateQueryDTO> queries = List.of(
+                new ExchangeRateQueryDTO("EUR", "USD"),
+                new ExchangeRateQueryDTO("usd", "JPY"),
+                new ExchangeRateQueryDTO("EUR", "GBP,USD"),
+                new ExchangeRateQueryDTO("USD", null));
+
+        StepVerifier.create(service.getExchangeRatesBatch(queries))
+                .assertNext(batch -> {
+                    List<ExchangeRateBatchItemDTO> results = batch.getResults();
+                    assertEquals(4, results.size());
+                    assertEquals(Map.of("USD", 1.1), results.get(0).getResult().getRates());
+                    assertEquals(Map.of("JPY", 150.0), results.get(1).getResult().getRates());
+                    assertEquals(2, results.get(2).getResult().getRates().size());
+                    assertEquals(2, results.get(3).getResult().getRates().size());
+                })
+                .verifyComplete();
+
+        verify(valueOps, never()).get(any());
+        verify(client1, times(1)).getExchangeRates(any(), any(), any());
+    }
+
+    @Test
+    void whenOneBatchQueryFails_thenOtherQueriesStillSucceed() {
+        ExchangeRateResponseDTO usdTable = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 0.9))
+                .build();
+
+        List<Object> cachedValues = new ArrayList<>();
+        cachedValues.add(null);
+        cachedValues.add(null);
+        when(valueOps.multiGet(any())).thenReturn(Mono.just(cachedValues));
+        when(valueOps.set(any(), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+        when(client1.getExchangeRates(BASE, null, null)).thenReturn(Mono.just(usdTable));
+        when(client2.getExchangeRates(BASE, null, null)).thenReturn(Mono.empty());
+        when(client1.getExchangeRates("XXX", null, null)).thenReturn(Mono.empty());
+        when(client2.getExchangeRates("XXX", null, null)).thenReturn(Mono.empty());
+
+        List<ExchangeRateQueryDTO> queries = List.of(
+                new ExchangeRateQueryDTO("USD", "EUR"),
+                new ExchangeRateQueryDTO("XXX", "EUR"),
+                new ExchangeRateQueryDTO(null, "EUR"));
+
+        StepVerifier.create(service.getExchangeRatesBatch(queries))
+                .assertNext(batch -> {
+                    List<ExchangeRateBatchItemDTO> results = batch.getResults();
+                    assertEquals(0.9, results.get(0).getResult().getRates().get("EUR"));
+                    assertNull(results.get(0).getError());
+                    assertNull(results.get(1).getResult());
+                    assertEquals(500, results.get(1).getError().getStatus());
+                    assertEquals(400, results.get(2).getError().getStatus());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void whenStoreReadsPartialTables_thenOnlyRequestedSymbolsAreReadAndNotCachedLocally() {
+        RateTableStore hashStore = mock(RateTableStore.class);
+        ExchangeRateServiceImpl hashService = new ExchangeRateServiceImpl(List.of(client1, client2), metricsService,
+                new ProviderFanOut(List.of(client1, client2), metricsService,
+                        new ProviderRouter(metricsService, RoutingMode.ALL, 2, "", 50, 0.5, Duration.ofMinutes(1)),
+                        Duration.ofSeconds(3), 0, false, Duration.ofMillis(200)),
+                hashStore, localRateCache, new RequestCoalescer(metricsService),
+                new CacheFreshnessPolicy(Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(30), 0.1),
+                rateHistoryStore, historicalRateCache);
+        ExchangeRateResponseDTO partial = ExchangeRateResponseDTO.builder()
+                .base(BASE)
+                .rates(Map.of("EUR", 1.1, "GBP", 0.9))
+                .datasource("cached")
+                .timestamp(Instant.now())
+                .build();
+        when(hashStore.readsPartialTables()).thenReturn(true);
+        when(hashStore.read(BASE, List.of("EUR", "GBP"))).thenReturn(Mono.just(partial));
+        when(client1.getDataSourceName()).thenReturn("client1");
+        when(client2.getDataSourceName()).thenReturn("client2");
+
+        StepVerifier.create(hashService.getExchangeRates(BASE, "gbp,eur"))
+                .expectNextMatches(r -> r.getRates().equals(Map.of("EUR", 1.1, "GBP", 0.9)))
+                .verifyComplete();
+
+        assertNull(localRateCache.get("exchangeRates::USD"));
+        verify(hashStore, never()).write(any(), any(), any());
+    }
+}
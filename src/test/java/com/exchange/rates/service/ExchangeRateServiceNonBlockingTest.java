@@ -0,0 +1,130 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.aggregation.ProviderFanOut;
+import com.exchange.rates.service.aggregation.ProviderRouter;
+import com.exchange.rates.service.aggregation.RoutingMode;
+import com.exchange.rates.service.cache.CacheFreshnessPolicy;
+import com.exchange.rates.service.cache.HistoricalRateCache;
+import com.exchange.rates.service.cache.LocalRateCache;
+import com.exchange.rates.service.cache.RequestCoalescer;
+import com.exchange.rates.service.cache.ValueRateTableStore;
+import com.exchange.rates.service.client.ExchangeRateClient;
+import com.exchange.rates.service.history.RateHistoryStore;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:10 AM
+ * Runs the lookup pipeline on non-blocking threads with BlockHound installed, so any
+ * blocking Redis or provider call in the request path fails the test.
+ */
+
+class ExchangeRateServiceNonBlockingTest {
+
+    @Mock
+    ExchangeRateClient client;
+
+    @Mock
+    MetricsService metricsService;
+
+    @Mock
+    RateHistoryStore rateHistoryStore;
+
+    @Mock
+    HistoricalRateCache historicalRateCache;
+
+    @Mock
+    ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Mock
+    ReactiveValueOperations<String, Object> valueOps;
+
+    ExchangeRateServiceImpl service;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        LocalRateCache localRateCache = new LocalRateCache(metricsService, 1_000, Duration.ofMinutes(1));
+        service = new ExchangeRateServiceImpl(List.of(client), metricsService,
+                new ProviderFanOut(List.of(client), metricsService,
+                        new ProviderRouter(metricsService, RoutingMode.ALL, 2, "", 50, 0.5, Duration.ofMinutes(1)),
+                        Duration.ofSeconds(3), 0, false, Duration.ofMillis(200)),
+                new ValueRateTableStore(reactiveRedisTemplate), localRateCache, new RequestCoalescer(metricsService),
+                new CacheFreshnessPolicy(Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(30), 0.1),
+                rateHistoryStore, historicalRateCache);
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOps);
+        when(client.getDataSourceName()).thenReturn("client");
+    }
+
+    @Test
+    void blockHound_isActive() {
+        StepVerifier.create(Mono.delay(Duration.ofMillis(1))
+                        .doOnNext(tick -> {
+                            try {
+                                Thread.sleep(1);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }))
+                .expectError(BlockingOperationError.class)
+                .verify();
+    }
+
+    @Test
+    void cacheMiss_runsWithoutBlockingOnEventLoop() {
+        ExchangeRateResponseDTO response = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.1))
+                .build();
+
+        when(valueOps.get(any())).thenReturn(Mono.<Object>empty().delaySubscription(Duration.ofMillis(1)));
+        when(valueOps.set(any(), any(), any(Duration.class)))
+                .thenReturn(Mono.just(true).delaySubscription(Duration.ofMillis(1)));
+        when(client.getExchangeRates("EUR", null, null))
+                .thenReturn(Mono.just(response).delaySubscription(Duration.ofMillis(1)));
+
+        StepVerifier.create(service.getExchangeRates("EUR", "USD").subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(r -> r.getRates().get("USD") == 1.1)
+                .verifyComplete();
+    }
+
+    @Test
+    void cacheHit_runsWithoutBlockingOnEventLoop() {
+        ExchangeRateResponseDTO cached = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.2))
+                .timestamp(Instant.now())
+                .build();
+
+        when(valueOps.get(any())).thenReturn(Mono.<Object>just(cached).delaySubscription(Duration.ofMillis(1)));
+
+        StepVerifier.create(service.getExchangeRates("EUR", "USD").subscribeOn(Schedulers.parallel()))
+                .expectNextMatches(r -> r.getRates().get("USD") == 1.2)
+                .verifyComplete();
+    }
+}
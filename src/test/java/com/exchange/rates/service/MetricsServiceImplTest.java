@@ -2,11 +2,24 @@ package com.exchange.rates.service;
 
 import com.exchange.rates.dto.ApiMetricsDTO;
 import com.exchange.rates.dto.ApiMetricsDataDTO;
+import com.exchange.rates.dto.CacheMetricsDTO;
 import com.exchange.rates.dto.MetricsResponseDTO;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -17,11 +30,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class MetricsServiceImplTest {
 
+    private static final Duration[] SLOS = {Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(500)};
+
     MetricsServiceImpl metricsService;
 
+    SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
-        metricsService = new MetricsServiceImpl(new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        metricsService = new MetricsServiceImpl(meterRegistry, SLOS);
     }
 
     @Test
@@ -108,4 +126,101 @@ class MetricsServiceImplTest {
         assertEquals(1, api1Metrics.getMetrics().getFailedRequests());
         assertEquals(1, api1Metrics.getMetrics().getCacheHits());
     }
+
+    @Test
+    void shouldTrackLocalCacheCounters() {
+        metricsService.incrementLocalCacheHit();
+        metricsService.incrementLocalCacheHit();
+        metricsService.incrementLocalCacheMiss();
+        metricsService.incrementLocalCacheEviction();
+
+        CacheMetricsDTO localCache = metricsService.getMetrics().getLocalCache();
+
+        assertEquals(2, localCache.getHits());
+        assertEquals(1, localCache.getMisses());
+        assertEquals(1, localCache.getEvictions());
+    }
+
+    @Test
+    void concurrentIncrements_areCountedExactly() throws Exception {
+        int threads = 16;
+        int incrementsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String apiName = t % 2 == 0 ? "API1" : "API2";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        metricsService.incrementRequestCount(apiName);
+                        metricsService.incrementResponseCount(apiName);
+                        metricsService.incrementCacheHit(apiName);
+                        metricsService.incrementLocalCacheHit();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long perApi = (long) threads / 2 * incrementsPerThread;
+        MetricsResponseDTO response = metricsService.getMetrics();
+
+        assertEquals((long) threads * incrementsPerThread, response.getTotalQueries());
+        assertEquals((long) threads * incrementsPerThread, response.getLocalCache().getHits());
+        for (ApiMetricsDTO api : response.getApis()) {
+            assertEquals(perApi, api.getMetrics().getTotalRequests());
+            assertEquals(perApi, api.getMetrics().getTotalResponses());
+            assertEquals(perApi, api.getMetrics().getCacheHits());
+            assertEquals((double) perApi, meterRegistry.get("exchange.rate.requests")
+                    .tag("api", api.getName())
+                    .functionCounter()
+                    .count());
+        }
+    }
+
+    @Test
+    void providerLatency_isReportedAsPercentilesPerProvider() {
+        for (int i = 1; i <= 100; i++) {
+            metricsService.recordProviderLatency("API1", "success", TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        ApiMetricsDataDTO data = metricsService.getMetrics().getApis().get(0).getMetrics();
+
+        assertThat(data.getLatencyP50Ms()).isBetween(45.0, 55.0);
+        assertThat(data.getLatencyP95Ms()).isBetween(90.0, 100.0);
+        assertThat(data.getLatencyP99Ms()).isBetween(95.0, 105.0);
+        assertThat(data.getLatencyP50Ms()).isLessThanOrEqualTo(data.getLatencyP95Ms());
+    }
+
+    @Test
+    void timers_areTaggedAndPublishSloBuckets() {
+        metricsService.recordProviderLatency("API1", "error", TimeUnit.MILLISECONDS.toNanos(75));
+        metricsService.recordCacheLookup("redis", "hit", TimeUnit.MILLISECONDS.toNanos(2));
+        metricsService.recordAggregation(TimeUnit.MICROSECONDS.toNanos(40));
+
+        Timer providerTimer = meterRegistry.get("exchange.rate.provider.latency")
+                .tag("provider", "API1")
+                .tag("outcome", "error")
+                .timer();
+        assertEquals(1, providerTimer.count());
+        assertThat(Arrays.stream(providerTimer.takeSnapshot().histogramCounts())
+                .map(CountAtBucket::bucket))
+                .contains((double) TimeUnit.MILLISECONDS.toNanos(50), (double) TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(1, meterRegistry.get("exchange.rate.cache.lookup")
+                .tag("tier", "redis")
+                .tag("outcome", "hit")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry.get("exchange.rate.aggregation").timer().count());
+    }
 }
\ No newline at end of file
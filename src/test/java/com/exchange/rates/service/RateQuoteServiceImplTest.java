@@ -0,0 +1,93 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.exception.ExchangeRateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 02:05 AM
+ */
+
+class RateQuoteServiceImplTest {
+
+    private final ExchangeRateService exchangeRateService = mock(ExchangeRateService.class);
+    private RateQuoteServiceImpl rateQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        rateQuoteService = new RateQuoteServiceImpl(exchangeRateService, "eur", Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateQuoteService.destroy();
+    }
+
+    private static Mono<ExchangeRateResponseDTO> table(String timestamp, double usd) {
+        return Mono.just(ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", usd, "JPY", 160.0))
+                .timestamp(Instant.parse(timestamp))
+                .build());
+    }
+
+    @Test
+    void getQuote_answersFromThePublishedMatrix() {
+        when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(table("2026-10-18T12:00:00Z", 1.25));
+
+        StepVerifier.create(rateQuoteService.getQuote("usd", "JPY"))
+                .assertNext(quote -> {
+                    assertEquals("USD", quote.getFrom());
+                    assertEquals("JPY", quote.getTo());
+                    assertEquals(128.0, quote.getRate(), 1e-12);
+                    assertEquals("EUR@2026-10-18T12:00:00Z", quote.getVersion());
+                })
+                .verifyComplete();
+        StepVerifier.create(rateQuoteService.getQuote("JPY", "EUR"))
+                .assertNext(quote -> assertEquals(1 / 160.0, quote.getRate(), 1e-12))
+                .verifyComplete();
+    }
+
+    @Test
+    void getQuote_unknownCurrency_isAnExchangeRateException() {
+        when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(table("2026-10-18T12:00:00Z", 1.25));
+
+        StepVerifier.create(rateQuoteService.getQuote("USD", "ABC"))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(ExchangeRateException.class, e);
+                    assertEquals("Unsupported currency ABC", e.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void refresh_publishesANewMatrixOnlyForANewerTable() throws InterruptedException {
+        when(exchangeRateService.getExchangeRates("EUR", null))
+                .thenReturn(table("2026-10-18T12:00:00Z", 1.25))
+                .thenReturn(table("2026-10-18T11:00:00Z", 1.00))
+                .thenReturn(table("2026-10-18T12:05:00Z", 1.50));
+
+        double rate = rateQuoteService.getQuote("EUR", "USD").block().getRate();
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (rate != 1.50 && System.nanoTime() < deadline) {
+            assertNotEquals(1.00, rate);
+            Thread.sleep(10);
+            rate = rateQuoteService.getQuote("EUR", "USD").block().getRate();
+        }
+
+        assertEquals(1.50, rate, 1e-12);
+        verify(exchangeRateService, atLeast(3)).getExchangeRates("EUR", null);
+    }
+}
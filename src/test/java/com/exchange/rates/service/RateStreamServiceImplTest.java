@@ -0,0 +1,151 @@
+package com.exchange.rates.service;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 04:00 PM
+ */
+
+class RateStreamServiceImplTest {
+
+    @Mock
+    ExchangeRateService exchangeRateService;
+
+    RateStreamServiceImpl rateStreamService;
+
+    private static ExchangeRateResponseDTO table(double usd, double gbp) {
+        return ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", usd, "GBP", gbp))
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        rateStreamService = new RateStreamServiceImpl(exchangeRateService, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void stream_emitsSnapshotThenOnlyChanges() {
+        when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(
+                Mono.just(table(1.1, 0.85)),
+                Mono.just(table(1.1, 0.85)),
+                Mono.just(table(1.2, 0.85)));
+
+        StepVerifier.withVirtualTime(() -> rateStreamService.streamExchangeRates("eur", "USD"))
+                .expectNextMatches(r -> r.getRates().equals(Map.of("USD", 1.1)))
+                .thenAwait(Duration.ofSeconds(10))
+                .expectNoEvent(Duration.ofSeconds(9))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNextMatches(r -> r.getRates().equals(Map.of("USD", 1.2)))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_unchangedSymbolsAreNotReEmitted() {
+        when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(
+                Mono.just(table(1.1, 0.85)),
+                Mono.just(table(1.1, 0.90)));
+
+        StepVerifier.withVirtualTime(() -> rateStreamService.streamExchangeRates("EUR", "USD"))
+                .expectNextMatches(r -> r.getRates().equals(Map.of("USD", 1.1)))
+                .thenAwait(Duration.ofSeconds(30))
+                .expectNoEvent(Duration.ofSeconds(1))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_subscribersShareOneRefreshLoop() {
+        when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(Mono.just(table(1.1, 0.85)));
+
+        StepVerifier.withVirtualTime(() -> Flux.merge(
+                        rateStreamService.streamExchangeRates("EUR", "USD"),
+                        rateStreamService.streamExchangeRates("EUR", "GBP"),
+                        rateStreamService.streamExchangeRates("EUR", null)))
+                .expectNextCount(3)
+                .thenAwait(Duration.ofSeconds(30))
+                .thenCancel()
+                .verify();
+
+        verify(exchangeRateService, times(4)).getExchangeRates("EUR", null);
+    }
+
+    @Test
+    void stream_refreshErrorKeepsStreamOpen() {
+        when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(
+                Mono.just(table(1.1, 0.85)),
+                Mono.error(new RuntimeException("No exchange rate data available from any provider")),
+                Mono.just(table(1.2, 0.85)));
+
+        StepVerifier.withVirtualTime(() -> rateStreamService.streamExchangeRates("EUR", "USD"))
+                .expectNextMatches(r -> r.getRates().equals(Map.of("USD", 1.1)))
+                .thenAwait(Duration.ofSeconds(20))
+                .expectNextMatches(r -> r.getRates().equals(Map.of("USD", 1.2)))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_firstLoadErrorEndsStreamAndRefreshLoop() {
+        when(exchangeRateService.getExchangeRates("XXX", null)).thenReturn(
+                Mono.error(new RuntimeException("No exchange rate data available from any provider")));
+
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+        try {
+            StepVerifier.create(rateStreamService.streamExchangeRates("XXX", null))
+                    .expectErrorMessage("No exchange rate data available from any provider")
+                    .verify();
+            scheduler.advanceTimeBy(Duration.ofSeconds(60));
+
+            verify(exchangeRateService, times(1)).getExchangeRates("XXX", null);
+        } finally {
+            VirtualTimeScheduler.reset();
+        }
+    }
+
+    @Test
+    void stream_resubscribeWhileLastSubscriberLeaves_keepsOneRefreshLoop() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+        try {
+            List<Disposable> resubscribed = new ArrayList<>();
+            // The client reconnects while the cancellation of its old subscription is still propagating
+            when(exchangeRateService.getExchangeRates("EUR", null)).thenReturn(
+                    Mono.<ExchangeRateResponseDTO>never().doOnCancel(() ->
+                            resubscribed.add(rateStreamService.streamExchangeRates("EUR", "USD").subscribe())),
+                    Mono.just(table(1.1, 0.85)));
+
+            Disposable first = rateStreamService.streamExchangeRates("EUR", "USD").subscribe();
+            scheduler.advanceTime();
+            first.dispose();
+            Disposable next = rateStreamService.streamExchangeRates("EUR", "GBP").subscribe();
+            scheduler.advanceTimeBy(Duration.ofSeconds(30));
+
+            // The hanging first call, then one call per tick of a single loop
+            verify(exchangeRateService, times(5)).getExchangeRates("EUR", null);
+            resubscribed.forEach(Disposable::dispose);
+            next.dispose();
+        } finally {
+            VirtualTimeScheduler.reset();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.exchange.rates.service.aggregation;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import com.exchange.rates.service.client.ExchangeRateClient;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 06:40 PM
+ */
+
+class ProviderFanOutTest {
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+
+    @Test
+    void fetch_allProvidersAnswer_foldsEveryTable() {
+        ProviderFanOut fanOut = fanOut(List.of(client("A", Mono.just(table("A", 1.0))),
+                client("B", Mono.just(table("B", 3.0)))), Duration.ofSeconds(1), 0, false);
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> {
+                    assertEquals(2, accumulator.responses());
+                    assertEquals(List.of("A", "B"), accumulator.providers().stream().sorted().toList());
+                    assertEquals(Map.of("USD", 2.0), accumulator.averages());
+                    assertTrue(accumulator.complete());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(metricsService, never()).incrementFanOutCutoff(anyString());
+    }
+
+    @Test
+    void fetch_quorumReached_cancelsRemainingProviders() {
+        ProviderFanOut fanOut = fanOut(List.of(client("A", Mono.just(table("A", 1.0))),
+                client("B", Mono.never())), Duration.ofSeconds(10), 1, false);
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> {
+                    assertEquals(1, accumulator.responses());
+                    assertEquals(Map.of("USD", 1.0), accumulator.averages());
+                    assertFalse(accumulator.complete());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(metricsService).incrementFanOutCutoff("quorum");
+    }
+
+    @Test
+    void fetch_deadlineElapses_aggregatesWhatArrived() {
+        ProviderFanOut fanOut = fanOut(List.of(client("A", Mono.just(table("A", 1.0))),
+                client("B", Mono.never())), Duration.ofMillis(100), 0, false);
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> {
+                    assertEquals(List.of("A"), accumulator.providers());
+                    assertFalse(accumulator.complete());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(metricsService).incrementFanOutCutoff("deadline");
+    }
+
+    @Test
+    void fetch_noProviderAnswersInTime_returnsEmptyAccumulator() {
+        ProviderFanOut fanOut = fanOut(List.of(client("A", Mono.never())), Duration.ofMillis(50), 0, false);
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> assertEquals(0, accumulator.responses()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void fetch_slowProviderWithHedging_secondRequestWins() {
+        ExchangeRateClient slow = mock(ExchangeRateClient.class);
+        when(slow.getDataSourceName()).thenReturn("A");
+        when(slow.getExchangeRates("EUR", null, null)).thenReturn(Mono.never(), Mono.just(table("A", 1.0)));
+        ProviderFanOut fanOut = fanOut(List.of(slow), Duration.ofSeconds(5), 0, true);
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> assertEquals(1, accumulator.responses()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(slow, times(2)).getExchangeRates("EUR", null, null);
+        verify(metricsService).incrementHedgedRequest("A");
+        verify(metricsService, never()).incrementFanOutCutoff(anyString());
+    }
+
+    @Test
+    void fetch_fastProviderWithHedging_sendsNoSecondRequest() {
+        ExchangeRateClient fast = client("A", Mono.just(table("A", 1.0)));
+        ProviderFanOut fanOut = fanOut(List.of(fast), Duration.ofSeconds(5), 0, true);
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> assertEquals(1, accumulator.responses()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(fast, times(1)).getExchangeRates("EUR", null, null);
+        verify(metricsService, never()).incrementHedgedRequest(anyString());
+    }
+
+    @Test
+    void fetch_failingProviderWithHedging_isNotHedged() {
+        ExchangeRateClient failing = client("A", Mono.delay(Duration.ofMillis(10))
+                .then(Mono.error(new IllegalStateException("upstream down"))));
+        ProviderFanOut fanOut = fanOut(List.of(failing), Duration.ofSeconds(5), 0, true);
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> assertEquals(0, accumulator.responses()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(failing, times(1)).getExchangeRates("EUR", null, null);
+        verify(metricsService, never()).incrementHedgedRequest(anyString());
+    }
+
+    @Test
+    void fetch_primaryFallback_callsNextProviderOnlyAfterFailure() {
+        ExchangeRateClient primary = client("A", Mono.empty());
+        ExchangeRateClient secondary = client("B", Mono.just(table("B", 2.0)));
+        ExchangeRateClient third = client("C", Mono.just(table("C", 3.0)));
+        ProviderRouter router = new ProviderRouter(metricsService, RoutingMode.PRIMARY_FALLBACK, 1, "A", 10, 0.5,
+                Duration.ofMinutes(1));
+        ProviderFanOut fanOut = new ProviderFanOut(List.of(third, secondary, primary), metricsService, router,
+                Duration.ofSeconds(1), 0, false, Duration.ofMillis(50), Schedulers.parallel());
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> {
+                    assertEquals(1, accumulator.responses());
+                    // The primary came back empty
+                    assertFalse(accumulator.complete());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        // Unmeasured fallbacks keep their registration order
+        verify(primary).getExchangeRates("EUR", null, null);
+        verify(third).getExchangeRates("EUR", null, null);
+        verify(secondary, never()).getExchangeRates(anyString(), any(), any());
+        verify(metricsService).incrementRoutingDecision("A", "selected");
+        verify(metricsService).incrementRoutingDecision("C", "fallback");
+        verify(metricsService, never()).incrementFanOutCutoff(anyString());
+    }
+
+    @Test
+    void fetch_fastestN_skipsSlowerProviders() {
+        ProviderRouter router = new ProviderRouter(metricsService, RoutingMode.FASTEST_N, 1, "", 10, 0.5,
+                Duration.ofMinutes(1));
+        for (int i = 0; i < ProviderRouter.MIN_SAMPLES; i++) {
+            router.record("A", 5_000_000, true);
+            router.record("B", 50_000_000, true);
+        }
+        ExchangeRateClient fast = client("A", Mono.just(table("A", 1.0)));
+        ExchangeRateClient slow = client("B", Mono.just(table("B", 3.0)));
+        ProviderFanOut fanOut = new ProviderFanOut(List.of(slow, fast), metricsService, router,
+                Duration.ofSeconds(1), 0, false, Duration.ofMillis(50), Schedulers.parallel());
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .assertNext(accumulator -> assertEquals(List.of("A"), accumulator.providers()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(slow, never()).getExchangeRates(anyString(), any(), any());
+        verify(metricsService).incrementRoutingDecision("B", "skipped");
+    }
+
+    @Test
+    void fetch_deadlineCancellation_isRecordedAsFailure() {
+        List<ExchangeRateClient> clients = List.of(client("A", Mono.just(table("A", 1.0))), client("B", Mono.never()));
+        ProviderRouter router = routerFor(clients);
+        ProviderFanOut fanOut = new ProviderFanOut(clients, metricsService, router, Duration.ofMillis(100), 0, false,
+                Duration.ofMillis(50), Schedulers.parallel());
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(router).record(eq("A"), anyLong(), eq(true));
+        verify(router).record(eq("B"), anyLong(), eq(false));
+    }
+
+    @Test
+    void fetch_quorumAndHedgeLosers_leaveNoRoutingSample() {
+        ExchangeRateClient hedgedClient = mock(ExchangeRateClient.class);
+        when(hedgedClient.getDataSourceName()).thenReturn("A");
+        when(hedgedClient.getExchangeRates("EUR", null, null)).thenReturn(Mono.never(), Mono.just(table("A", 1.0)));
+        List<ExchangeRateClient> clients = List.of(hedgedClient, client("B", Mono.never()));
+        ProviderRouter router = routerFor(clients);
+        ProviderFanOut fanOut = new ProviderFanOut(clients, metricsService, router, Duration.ofSeconds(5), 1, true,
+                Duration.ofMillis(50), Schedulers.parallel());
+
+        StepVerifier.create(fanOut.fetch("EUR"))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        // Only the winning hedge of A is a sample, B was cut by the quorum
+        verify(router, times(1)).record(eq("A"), anyLong(), eq(true));
+        verify(router, never()).record(eq("A"), anyLong(), eq(false));
+        verify(router, never()).record(eq("B"), anyLong(), anyBoolean());
+    }
+
+    private static ProviderRouter routerFor(List<ExchangeRateClient> clients) {
+        ProviderRouter router = mock(ProviderRouter.class);
+        when(router.plan(clients)).thenReturn(new ProviderRouter.RoutingPlan(clients, false));
+        return router;
+    }
+
+    private ProviderFanOut fanOut(List<ExchangeRateClient> clients, Duration deadline, int quorum, boolean hedging) {
+        ProviderRouter router = new ProviderRouter(metricsService, RoutingMode.ALL, 2, "", 10, 0.5,
+                Duration.ofMinutes(1));
+        return new ProviderFanOut(clients, metricsService, router, deadline, quorum, hedging, Duration.ofMillis(50),
+                Schedulers.parallel());
+    }
+
+    private static ExchangeRateClient client(String name, Mono<ExchangeRateResponseDTO> response) {
+        ExchangeRateClient client = mock(ExchangeRateClient.class);
+        when(client.getDataSourceName()).thenReturn(name);
+        when(client.getExchangeRates("EUR", null, null)).thenReturn(response);
+        return client;
+    }
+
+    private static ExchangeRateResponseDTO table(String datasource, double usd) {
+        return ExchangeRateResponseDTO.builder()
+                .datasource(datasource)
+                .base("EUR")
+                .rates(Map.of("USD", usd))
+                .build();
+    }
+}
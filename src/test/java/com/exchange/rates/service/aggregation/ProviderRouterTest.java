@@ -0,0 +1,145 @@
+package com.exchange.rates.service.aggregation;
+
+import com.exchange.rates.service.MetricsService;
+import com.exchange.rates.service.client.ExchangeRateClient;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 08:30 PM
+ */
+
+class ProviderRouterTest {
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final ExchangeRateClient a = client("A");
+    private final ExchangeRateClient b = client("B");
+    private final ExchangeRateClient c = client("C");
+
+    @Test
+    void plan_all_callsEveryProviderAtOnce() {
+        ProviderRouter router = router(RoutingMode.ALL, 1, "", Duration.ofMinutes(1));
+
+        ProviderRouter.RoutingPlan plan = router.plan(List.of(a, b, c));
+
+        assertEquals(List.of(a, b, c), plan.providers());
+        assertFalse(plan.sequential());
+        verify(metricsService).incrementRoutingDecision("C", "selected");
+    }
+
+    @Test
+    void rank_ordersMeasuredProvidersByLatencyAndPushesErroringOnesLast() {
+        ProviderRouter router = router(RoutingMode.FASTEST_N, 2, "", Duration.ofMinutes(1));
+        measure(router, "A", 40, 0);
+        measure(router, "B", 10, 0);
+        measure(router, "C", 1, 4);
+
+        assertEquals(List.of(b, a, c), router.rank(List.of(a, b, c)));
+    }
+
+    @Test
+    void rank_ignoresLatencyOfFailedCalls() {
+        ProviderRouter router = router(RoutingMode.FASTEST_N, 1, "", Duration.ofMinutes(1));
+        measure(router, "A", 25, 0);
+        // Fails fast a third of the time, staying under the error-rate limit
+        for (int i = 0; i < ProviderRouter.MIN_SAMPLES + 1; i++) {
+            router.record("B", i % 3 == 0 ? 0 : 30_000_000, i % 3 != 0);
+        }
+
+        assertEquals(List.of(a, b), router.rank(List.of(a, b)));
+        assertEquals(30.0, router.snapshot().getProviders().get(1).getMeanLatencyMs(), 1e-9);
+    }
+
+    @Test
+    void rank_putsUnmeasuredProvidersFirst() {
+        ProviderRouter router = router(RoutingMode.FASTEST_N, 1, "", Duration.ofMinutes(1));
+        measure(router, "A", 1, 0);
+
+        assertEquals(List.of(b, a), router.rank(List.of(a, b)));
+    }
+
+    @Test
+    void plan_fastestN_probesStaleProviders() {
+        ProviderRouter router = router(RoutingMode.FASTEST_N, 1, "", Duration.ZERO);
+        measure(router, "A", 1, 0);
+        measure(router, "B", 50, 0);
+
+        ProviderRouter.RoutingPlan plan = router.plan(List.of(a, b));
+
+        assertEquals(List.of(a, b), plan.providers());
+        verify(metricsService).incrementRoutingDecision("B", "probe");
+    }
+
+    @Test
+    void plan_fastestN_skipsFreshSlowProviders() {
+        ProviderRouter router = router(RoutingMode.FASTEST_N, 1, "", Duration.ofMinutes(1));
+        measure(router, "A", 1, 0);
+        measure(router, "B", 50, 0);
+
+        assertEquals(List.of(a), router.plan(List.of(a, b)).providers());
+        verify(metricsService).incrementRoutingDecision("B", "skipped");
+    }
+
+    @Test
+    void plan_fastestN_ignoresConfiguredPrimary() {
+        ProviderRouter router = router(RoutingMode.FASTEST_N, 1, "C", Duration.ofMinutes(1));
+        measure(router, "A", 1, 0);
+        measure(router, "C", 50, 0);
+
+        assertEquals(List.of(a), router.plan(List.of(a, c)).providers());
+        verify(metricsService).incrementRoutingDecision("C", "skipped");
+    }
+
+    @Test
+    void plan_primaryFallback_startsWithPrimaryEvenWhenSlower() {
+        ProviderRouter router = router(RoutingMode.PRIMARY_FALLBACK, 1, "C", Duration.ofMinutes(1));
+        measure(router, "A", 1, 0);
+        measure(router, "B", 5, 0);
+        measure(router, "C", 50, 0);
+
+        ProviderRouter.RoutingPlan plan = router.plan(List.of(a, b, c));
+
+        assertEquals(List.of(c, a, b), plan.providers());
+        assertTrue(plan.sequential());
+    }
+
+    @Test
+    void window_keepsOnlyLatestCalls() {
+        ProviderRouter router = router(RoutingMode.ALL, 1, "", Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            router.record("A", 1_000_000, false);
+        }
+        for (int i = 0; i < 10; i++) {
+            router.record("A", 3_000_000, true);
+        }
+
+        var provider = router.snapshot().getProviders().get(0);
+        assertEquals(10, provider.getSamples());
+        assertEquals(0.0, provider.getErrorRate());
+        assertEquals(3.0, provider.getMeanLatencyMs(), 1e-9);
+    }
+
+    private ProviderRouter router(RoutingMode mode, int fastestN, String primary, Duration probeAfter) {
+        return new ProviderRouter(metricsService, mode, fastestN, primary, 10, 0.5, probeAfter);
+    }
+
+    private static void measure(ProviderRouter router, String provider, long latencyMs, int failures) {
+        for (int i = 0; i < ProviderRouter.MIN_SAMPLES + 1; i++) {
+            router.record(provider, latencyMs * 1_000_000, i >= failures);
+        }
+    }
+
+    private static ExchangeRateClient client(String name) {
+        ExchangeRateClient client = mock(ExchangeRateClient.class);
+        when(client.getDataSourceName()).thenReturn(name);
+        return client;
+    }
+}
@@ -0,0 +1,66 @@
+package com.exchange.rates.service.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 12:55 PM
+ */
+
+class RateAccumulatorTest {
+
+    @Test
+    void averages_perCurrencyOverProvidersThatReportIt() {
+        RateAccumulator accumulator = new RateAccumulator()
+                .add("A", Map.of("USD", 1.10, "GBP", 0.85))
+                .add("B", Map.of("USD", 1.20))
+                .add("C", null);
+
+        Map<String, Double> averages = accumulator.averages();
+
+        assertEquals(3, accumulator.responses());
+        assertEquals(List.of("A", "B", "C"), accumulator.providers());
+        assertEquals(2, averages.size());
+        assertEquals(1.15, averages.get("USD"), 1e-12);
+        assertEquals(0.85, averages.get("GBP"), 1e-12);
+    }
+
+    @Test
+    void averages_nonIsoCodesGetSlotsOnFirstSight() {
+        Map<String, Double> first = new HashMap<>();
+        first.put("BTC", 0.00001);
+        first.put("ETH", null);
+
+        Map<String, Double> averages = new RateAccumulator()
+                .add("A", first)
+                .add("B", Map.of("BTC", 0.00003))
+                .averages();
+
+        assertEquals(0.00002, averages.get("BTC"), 1e-15);
+        assertFalse(averages.containsKey("ETH"));
+        assertEquals("BTC", CurrencyIndex.codeAt(CurrencyIndex.slotOf("BTC")));
+    }
+
+    @Test
+    void averages_noResponses_isEmpty() {
+        RateAccumulator accumulator = new RateAccumulator();
+
+        assertTrue(accumulator.averages().isEmpty());
+        assertEquals(0, accumulator.responses());
+    }
+
+    @Test
+    void currencyIndex_isoCodesHaveStableSlots() {
+        int usd = CurrencyIndex.slotOf("USD");
+
+        assertTrue(usd >= 0);
+        assertEquals(usd, CurrencyIndex.slotOf("USD"));
+        assertEquals("USD", CurrencyIndex.codeAt(usd));
+    }
+}
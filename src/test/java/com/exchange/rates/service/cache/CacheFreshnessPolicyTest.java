@@ -0,0 +1,86 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.service.cache.CacheFreshnessPolicy.Freshness;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 02:30 PM
+ */
+
+class CacheFreshnessPolicyTest {
+
+    private final CacheFreshnessPolicy policy = new CacheFreshnessPolicy(
+            Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofSeconds(30), 0.1);
+
+    private final Instant fetchedAt = Instant.parse("2026-10-18T10:00:00Z");
+
+    @Test
+    void evaluate_followsSoftAndHardTtl() {
+        assertEquals(Freshness.FRESH, policy.evaluate("key", fetchedAt, fetchedAt.plusSeconds(60)));
+        assertEquals(Freshness.STALE, policy.evaluate("key", fetchedAt, fetchedAt.plus(Duration.ofMinutes(7))));
+        assertEquals(Freshness.EXPIRED, policy.evaluate("key", fetchedAt, fetchedAt.plus(Duration.ofMinutes(11))));
+    }
+
+    @Test
+    void evaluate_justBeforeSoftTtl_isRefreshAhead() {
+        boolean refreshAheadSeen = false;
+        for (int second = 0; second < 600; second++) {
+            Freshness freshness = policy.evaluate("key", fetchedAt, fetchedAt.plusSeconds(second));
+            if (freshness == Freshness.REFRESH_AHEAD) {
+                refreshAheadSeen = true;
+            }
+            if (freshness == Freshness.STALE) {
+                assertTrue(refreshAheadSeen, "refresh-ahead window must precede staleness");
+                return;
+            }
+        }
+        fail("entry never turned stale");
+    }
+
+    @Test
+    void evaluate_isDeterministicPerEntry() {
+        Instant now = fetchedAt.plus(Duration.ofSeconds(285));
+        assertEquals(policy.evaluate("key", fetchedAt, now), policy.evaluate("key", fetchedAt, now));
+    }
+
+    @Test
+    void evaluate_missingTimestamp_isStale() {
+        assertEquals(Freshness.STALE, policy.evaluate("key", null, fetchedAt));
+    }
+
+    @Test
+    void redisTtl_staysWithinJitterBounds() {
+        for (int i = 0; i < 1_000; i++) {
+            Duration ttl = policy.redisTtl();
+            assertTrue(ttl.compareTo(Duration.ofMinutes(9)) >= 0);
+            assertTrue(ttl.compareTo(Duration.ofMinutes(11)) <= 0);
+        }
+    }
+
+    @Test
+    void constructor_softTtlNotBelowHardTtl_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheFreshnessPolicy(
+                Duration.ofMinutes(10), Duration.ofMinutes(10), Duration.ofSeconds(30), 0.1));
+    }
+
+    @Test
+    void constructor_jitteredSoftTtlReachingJitteredHardTtl_isRejected() {
+        // 9m * 1.1 + 30s = 10m 24s, later than the earliest expiry of 10m * 0.9
+        assertThrows(IllegalArgumentException.class, () -> new CacheFreshnessPolicy(
+                Duration.ofMinutes(9), Duration.ofMinutes(10), Duration.ofSeconds(30), 0.1));
+    }
+
+    @Test
+    void constructor_jitterOutOfRange_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheFreshnessPolicy(
+                Duration.ofMinutes(1), Duration.ofMinutes(10), Duration.ofSeconds(30), 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new CacheFreshnessPolicy(
+                Duration.ofMinutes(1), Duration.ofMinutes(10), Duration.ofSeconds(30), -0.1));
+    }
+}
@@ -0,0 +1,123 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 04:30 PM
+ */
+
+class HashRateTableStoreTest {
+
+    private static final Instant FETCHED_AT = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    ReactiveStringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    ReactiveHashOperations<String, String, String> hashOps;
+
+    HashRateTableStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(stringRedisTemplate.<String, String>opsForHash()).thenReturn(hashOps);
+        store = new HashRateTableStore(stringRedisTemplate);
+    }
+
+    @Test
+    void read_withSymbols_fetchesOnlyThoseFields() {
+        List<String> fields = List.of("_ts", "_ds", "_p", "_v", "EUR", "XYZ");
+        when(hashOps.multiGet("exchangeRates:hash::USD", fields))
+                .thenReturn(Mono.just(Arrays.asList(FETCHED_AT.toString(), "Aggregated", "A,B", "1", "0.91", null)));
+
+        StepVerifier.create(store.read("USD", List.of("EUR", "XYZ")))
+                .assertNext(table -> {
+                    assertEquals("USD", table.getBase());
+                    assertEquals("Aggregated", table.getDatasource());
+                    assertEquals(FETCHED_AT, table.getTimestamp());
+                    assertEquals(Map.of("EUR", 0.91), table.getRates());
+                    assertEquals(List.of("A", "B"), table.getProviders());
+                })
+                .verifyComplete();
+
+        verify(hashOps, never()).entries(any());
+    }
+
+    @Test
+    void read_missingHash_isEmpty() {
+        when(hashOps.multiGet(eq("exchangeRates:hash::USD"), anyList()))
+                .thenReturn(Mono.just(Arrays.asList(null, null, null, null, null)));
+
+        StepVerifier.create(store.read("USD", List.of("EUR")))
+                .verifyComplete();
+    }
+
+    @Test
+    void read_withoutSymbols_readsWholeHash() {
+        when(hashOps.entries("exchangeRates:hash::USD")).thenReturn(Flux.just(
+                Map.entry("_v", "1"), Map.entry("_ts", FETCHED_AT.toString()),
+                Map.entry("EUR", "0.91"), Map.entry("GBP", "0.79")));
+
+        StepVerifier.create(store.read("USD", List.of()))
+                .assertNext(table -> assertEquals(Map.of("EUR", 0.91, "GBP", 0.79), table.getRates()))
+                .verifyComplete();
+    }
+
+    @Test
+    void read_otherLayoutVersion_isEmpty() {
+        when(hashOps.entries("exchangeRates:hash::USD")).thenReturn(Flux.just(
+                Map.entry("_v", "2"), Map.entry("EUR", "0.91")));
+
+        StepVerifier.create(store.read("USD", List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_replacesHashWithOneScript() {
+        when(stringRedisTemplate.execute(eq(HashRateTableStore.REPLACE_SCRIPT), anyList(), anyList()))
+                .thenReturn(Flux.just(1L));
+        ExchangeRateResponseDTO table = ExchangeRateResponseDTO.builder()
+                .datasource("Aggregated")
+                .base("USD")
+                .rates(Map.of("EUR", 0.91))
+                .timestamp(FETCHED_AT)
+                .providers(List.of("A", "B"))
+                .build();
+
+        StepVerifier.create(store.write("USD", table, Duration.ofMinutes(10)))
+                .expectNext(true)
+                .verifyComplete();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(stringRedisTemplate).execute(eq(HashRateTableStore.REPLACE_SCRIPT), keys.capture(), args.capture());
+        assertEquals(List.of("exchangeRates:hash::USD"), keys.getValue());
+        assertEquals(List.of("600000", "_v", "1", "_ts", FETCHED_AT.toString(), "_ds", "Aggregated", "_p", "A,B", "EUR", "0.91"),
+                args.getValue());
+    }
+}
@@ -0,0 +1,100 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/19/2026 12:30 AM
+ */
+
+class HistoricalRateCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 9, 30);
+
+    @Mock
+    MetricsService metricsService;
+
+    @TempDir
+    Path directory;
+
+    HistoricalRateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new HistoricalRateCache(metricsService, 1_000, directory.toString(), 1024);
+    }
+
+    private static ExchangeRateResponseDTO table() {
+        return ExchangeRateResponseDTO.builder()
+                .datasource("Aggregated from multiple sources")
+                .base("EUR")
+                .rates(Map.of("USD", 1.1, "JPY", 160.0))
+                .providers(List.of("A", "B"))
+                .date(DATE)
+                .build();
+    }
+
+    @Test
+    void get_unknownDay_isEmpty() {
+        StepVerifier.create(cache.get("EUR", DATE))
+                .verifyComplete();
+
+        verify(metricsService).recordCacheLookup(eq("disk"), eq("miss"), anyLong());
+    }
+
+    @Test
+    void put_thenGet_servesFromMemory() {
+        ExchangeRateResponseDTO table = table();
+        StepVerifier.create(cache.put("EUR", DATE, table)).verifyComplete();
+
+        StepVerifier.create(cache.get("EUR", DATE))
+                .expectNextMatches(cached -> cached == table)
+                .verifyComplete();
+    }
+
+    @Test
+    void get_afterMemoryIsGone_servesFromDiskWithTheDate() {
+        StepVerifier.create(cache.put("EUR", DATE, table())).verifyComplete();
+        HistoricalRateCache restarted = new HistoricalRateCache(metricsService, 1_000, directory.toString(), 1024);
+
+        StepVerifier.create(restarted.get("EUR", DATE))
+                .assertNext(cached -> {
+                    assertEquals(Map.of("USD", 1.1, "JPY", 160.0), cached.getRates());
+                    assertEquals(List.of("A", "B"), cached.getProviders());
+                    assertEquals(DATE, cached.getDate());
+                })
+                .verifyComplete();
+        assertTrue(Files.exists(directory.resolve("2026-09-30").resolve("EUR.bin")));
+    }
+
+    @Test
+    void put_unsafeBase_staysInMemoryOnly() throws Exception {
+        StepVerifier.create(cache.put("../EUR", DATE, table())).verifyComplete();
+
+        StepVerifier.create(cache.get("../EUR", DATE))
+                .expectNextCount(1)
+                .verifyComplete();
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
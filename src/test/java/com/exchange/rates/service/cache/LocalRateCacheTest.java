@@ -0,0 +1,80 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 10:20 AM
+ */
+
+class LocalRateCacheTest {
+
+    @Mock
+    MetricsService metricsService;
+
+    LocalRateCache localRateCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        localRateCache = new LocalRateCache(metricsService, 50, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_afterPut_returnsValueAndCountsHit() {
+        ExchangeRateResponseDTO response = ExchangeRateResponseDTO.builder()
+                .base("EUR")
+                .rates(Map.of("USD", 1.1))
+                .build();
+
+        localRateCache.put("exchangeRates::EUR::USD", response);
+
+        assertSame(response, localRateCache.get("exchangeRates::EUR::USD"));
+        verify(metricsService).incrementLocalCacheHit();
+    }
+
+    @Test
+    void get_unknownKey_returnsNullAndCountsMiss() {
+        assertNull(localRateCache.get("exchangeRates::EUR::USD"));
+        verify(metricsService).incrementLocalCacheMiss();
+    }
+
+    @Test
+    void put_beyondMaximumWeight_evictsEntries() {
+        Map<String, Double> rates = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            rates.put("C" + i, (double) i);
+        }
+        for (int i = 0; i < 10; i++) {
+            localRateCache.put("key" + i, ExchangeRateResponseDTO.builder().base("EUR").rates(rates).build());
+        }
+
+        localRateCache.cleanUp();
+
+        verify(metricsService, atLeastOnce()).incrementLocalCacheEviction();
+    }
+
+    @Test
+    void expiredEntries_areNotCountedAsEvictions() throws InterruptedException {
+        LocalRateCache shortLived = new LocalRateCache(metricsService, 50, Duration.ofMillis(1));
+        shortLived.put("exchangeRates::EUR", ExchangeRateResponseDTO.builder().base("EUR").rates(Map.of()).build());
+
+        Thread.sleep(20);
+        shortLived.cleanUp();
+
+        assertNull(shortLived.get("exchangeRates::EUR"));
+        verify(metricsService, never()).incrementLocalCacheEviction();
+    }
+}
@@ -0,0 +1,150 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 03:25 PM
+ */
+
+class RateTableRedisSerializerTest {
+
+    private static final Instant FETCHED_AT = Instant.parse("2026-10-18T10:15:30.123456789Z");
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer()
+            .configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+
+    private final RateTableRedisSerializer serializer = new RateTableRedisSerializer(jsonSerializer, 1024);
+
+    @Test
+    void roundTrip_smallTable_isUncompressedBinary() {
+        ExchangeRateResponseDTO table = table(Map.of("USD", 1.1, "GBP", 0.85, "SPACEX", 0.0042));
+
+        byte[] bytes = serializer.serialize(table);
+
+        assertEquals(RateTableRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(RateTableRedisSerializer.VERSION, bytes[1]);
+        assertEquals(0, bytes[2] & RateTableRedisSerializer.FLAG_LZ4);
+        assertEquals(table, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void roundTrip_fullTable_isCompressedAndSmallerThanJson() {
+        Map<String, Double> rates = new HashMap<>();
+        Currency.getAvailableCurrencies().forEach(currency ->
+                rates.put(currency.getCurrencyCode(), 1.0 + currency.getNumericCode() / 7.0));
+        ExchangeRateResponseDTO table = table(rates);
+
+        byte[] bytes = serializer.serialize(table);
+
+        assertEquals(RateTableRedisSerializer.FLAG_LZ4, bytes[2] & RateTableRedisSerializer.FLAG_LZ4);
+        assertTrue(bytes.length * 2 < jsonSerializer.serialize(table).length);
+        assertEquals(table, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void roundTrip_nullFields() {
+        ExchangeRateResponseDTO table = ExchangeRateResponseDTO.builder().base("EUR").build();
+
+        assertEquals(table, serializer.deserialize(serializer.serialize(table)));
+    }
+
+    @Test
+    void roundTrip_keepsDateOfHistoricalTable() {
+        ExchangeRateResponseDTO table = table(Map.of("USD", 1.1));
+        table.setDate(LocalDate.of(2024, 1, 1));
+
+        ExchangeRateResponseDTO read = (ExchangeRateResponseDTO) serializer.deserialize(serializer.serialize(table));
+
+        assertEquals(LocalDate.of(2024, 1, 1), read.getDate());
+        assertEquals(table, read);
+    }
+
+    @Test
+    void deserialize_legacyJsonEntry() {
+        ExchangeRateResponseDTO table = table(Map.of("USD", 1.1));
+
+        assertEquals(table, serializer.deserialize(jsonSerializer.serialize(table)));
+    }
+
+    @Test
+    void deserialize_versionOneEntry_hasNoProvidersAndNoDate() {
+        // Version 1 body: timestamp, datasource, base, rates
+        ByteBuffer body = ByteBuffer.allocate(3 + 12 + 2 + 2 + 2 + 3 + 4 + 1 + 8);
+        body.put(RateTableRedisSerializer.MAGIC).put((byte) 1).put((byte) 0)
+                .putLong(FETCHED_AT.getEpochSecond()).putInt(FETCHED_AT.getNano())
+                .putShort((short) -1)
+                .putShort((short) 3).put("EUR".getBytes(StandardCharsets.US_ASCII))
+                .putInt(1).put((byte) 0xFF).putShort((short) 0).putDouble(1.1);
+
+        ExchangeRateResponseDTO read = (ExchangeRateResponseDTO) serializer.deserialize(body.array());
+
+        assertEquals("EUR", read.getBase());
+        assertEquals(FETCHED_AT, read.getTimestamp());
+        assertNull(read.getProviders());
+        assertNull(read.getDate());
+        assertEquals(Map.of("", 1.1), read.getRates());
+    }
+
+    @Test
+    void deserialize_versionTwoEntry_hasProvidersButNoDate() {
+        // Version 2 body: timestamp, datasource, base, providers, rates
+        ByteBuffer body = ByteBuffer.allocate(3 + 12 + 2 + 2 + 3 + 2 + 2 + 1 + 4 + 1 + 2 + 8);
+        body.put(RateTableRedisSerializer.MAGIC).put((byte) 2).put((byte) 0)
+                .putLong(FETCHED_AT.getEpochSecond()).putInt(FETCHED_AT.getNano())
+                .putShort((short) -1)
+                .putShort((short) 3).put("EUR".getBytes(StandardCharsets.US_ASCII))
+                .putShort((short) 1).putShort((short) 1).put("A".getBytes(StandardCharsets.US_ASCII))
+                .putInt(1).put((byte) 0xFF).putShort((short) 0).putDouble(1.1);
+
+        ExchangeRateResponseDTO read = (ExchangeRateResponseDTO) serializer.deserialize(body.array());
+
+        assertEquals("EUR", read.getBase());
+        assertEquals(FETCHED_AT, read.getTimestamp());
+        assertEquals(List.of("A"), read.getProviders());
+        assertNull(read.getDate());
+        assertEquals(Map.of("", 1.1), read.getRates());
+    }
+
+    @Test
+    void deserialize_unknownVersion_throws() {
+        byte[] bytes = serializer.serialize(table(Map.of("USD", 1.1)));
+        bytes[1] = 4;
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void deserialize_truncatedEntry_throws() {
+        byte[] bytes = serializer.serialize(table(Map.of("USD", 1.1)));
+
+        assertThrows(SerializationException.class,
+                () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 3)));
+    }
+
+    private static ExchangeRateResponseDTO table(Map<String, Double> rates) {
+        return ExchangeRateResponseDTO.builder()
+                .datasource("Aggregated from multiple sources")
+                .base("EUR")
+                .rates(rates)
+                .timestamp(FETCHED_AT)
+                .providers(List.of("Frankfurter API", "Free Currency Rates API"))
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.exchange.rates.service.cache;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:55 AM
+ */
+
+class RequestCoalescerTest {
+
+    @Mock
+    MetricsService metricsService;
+
+    RequestCoalescer requestCoalescer;
+
+    private final ExchangeRateResponseDTO response = ExchangeRateResponseDTO.builder()
+            .base("EUR")
+            .rates(Map.of("USD", 1.1))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        requestCoalescer = new RequestCoalescer(metricsService);
+    }
+
+    @Test
+    void coalesce_concurrentCallers_shareOneLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<ExchangeRateResponseDTO> upstream = Sinks.one();
+
+        Flux<ExchangeRateResponseDTO> callers = Flux.range(0, 10)
+                .flatMap(i -> requestCoalescer.coalesce("key", () -> {
+                    loads.incrementAndGet();
+                    return upstream.asMono();
+                }));
+
+        StepVerifier.create(callers)
+                .then(() -> upstream.tryEmitValue(response))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(0, requestCoalescer.inFlightCount());
+        verify(metricsService, times(9)).incrementCoalescedRequest();
+    }
+
+    @Test
+    void coalesce_afterCompletion_loadsAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(requestCoalescer.coalesce("key", () -> {
+                        loads.incrementAndGet();
+                        return Mono.just(response);
+                    }))
+                    .expectNext(response)
+                    .verifyComplete();
+        }
+
+        assertEquals(2, loads.get());
+        verify(metricsService, never()).incrementCoalescedRequest();
+    }
+
+    @Test
+    void coalesce_onError_removesEntry() {
+        StepVerifier.create(requestCoalescer.coalesce("key", () -> Mono.error(new RuntimeException("fail"))))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        assertEquals(0, requestCoalescer.inFlightCount());
+
+        StepVerifier.create(requestCoalescer.coalesce("key", () -> Mono.just(response)))
+                .expectNext(response)
+                .verifyComplete();
+    }
+}
@@ -1,17 +1,28 @@
 package com.exchange.rates.service.client;
 
+import com.exchange.rates.config.CircuitBreakerFixtures;
+import com.exchange.rates.config.ProviderCircuitBreakers;
+import com.exchange.rates.config.ProviderHttpProperties;
+import com.exchange.rates.config.ProviderWebClientFactory;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,7 +37,7 @@ import static org.mockito.Mockito.when;
 class FrankfurterClientTest {
 
     @Mock
-    WebClient.Builder webClientBuilder;
+    ProviderWebClientFactory webClientFactory;
 
     @Mock
     WebClient webClient;
@@ -47,12 +58,13 @@ class FrankfurterClientTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(webClientBuilder.build()).thenReturn(webClient);
+        when(webClientFactory.create("frankfurter")).thenReturn(webClient);
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(String.class))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
 
-        frankfurterClient = new FrankfurterClient(webClientBuilder, apiUrl);
+        ProviderCircuitBreakers circuitBreakers = CircuitBreakerFixtures.circuitBreakers(new ProviderHttpProperties());
+        frankfurterClient = new FrankfurterClient(webClientFactory, circuitBreakers, apiUrl);
     }
 
     @Test
@@ -62,12 +74,10 @@ class FrankfurterClientTest {
 
     @Test
     void getExchangeRates_successfulResponse_returnsDTO() {
-        // Prepare mock response body
-        Map<String, Object> mockBody = Map.of(
-                "rates", Map.of("EUR", 1.23, "GBP", 0.89)
-        );
+        // Prepare mock response body, delivered in small chunks
+        String mockBody = "{\"amount\":1.0,\"base\":\"USD\",\"date\":\"2026-10-16\",\"rates\":{\"EUR\":1.23,\"GBP\":0.89}}";
 
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(mockBody));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked(mockBody, 7));
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
 
         Mono<ExchangeRateResponseDTO> result = frankfurterClient.getExchangeRates("USD", "EUR,GBP");
@@ -90,11 +100,24 @@ class FrankfurterClientTest {
         assertTrue(calledUri.contains("to=EUR,GBP"));
     }
 
+    @Test
+    void getExchangeRates_withDate_callsTheDatedEndpoint() {
+        String mockBody = "{\"amount\":1.0,\"base\":\"USD\",\"date\":\"2026-09-30\",\"rates\":{\"EUR\":1.2}}";
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked(mockBody, 16));
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+
+        StepVerifier.create(frankfurterClient.getExchangeRates("USD", null, LocalDate.of(2026, 9, 30)))
+                .assertNext(dto -> assertEquals(LocalDate.of(2026, 9, 30), dto.getDate()))
+                .verifyComplete();
+
+        verify(requestHeadersUriSpec).uri(apiUrl + "/2026-09-30?from=USD");
+    }
+
     @Test
     void getExchangeRates_responseHasNoRates_returnsEmptyRatesMap() {
-        Map<String, Object> mockBody = Map.of("someOtherKey", "value");
+        String mockBody = "{\"someOtherKey\":\"value\"}";
 
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(mockBody));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked(mockBody, 5));
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
 
         StepVerifier.create(frankfurterClient.getExchangeRates("USD", "EUR"))
@@ -116,19 +139,38 @@ class FrankfurterClientTest {
             }
             return responseSpec;
         });
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.error(new RuntimeException("API error")));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(Flux.error(new RuntimeException("API error")));
 
         StepVerifier.create(frankfurterClient.getExchangeRates("USD", "EUR"))
                 .verifyComplete(); // should fallback to empty due to onErrorResume
     }
 
+    @Test
+    void getExchangeRates_truncatedBody_returnsEmptyMono() {
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked("{\"rates\":{\"EUR\":1.2", 4));
+
+        StepVerifier.create(frankfurterClient.getExchangeRates("USD", "EUR"))
+                .verifyComplete();
+    }
+
     @Test
     void getExchangeRates_networkError_returnsEmptyMono() {
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.error(new RuntimeException("Network error")));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(Flux.error(new RuntimeException("Network error")));
 
         StepVerifier.create(frankfurterClient.getExchangeRates("USD", "EUR"))
                 .verifyComplete(); // fallback to empty Mono on error
     }
 
+    private static Flux<DataBuffer> chunked(String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize))));
+        }
+        return Flux.fromIterable(chunks);
+    }
+
 }
\ No newline at end of file
@@ -1,21 +1,33 @@
 package com.exchange.rates.service.client;
 
+import com.exchange.rates.config.CircuitBreakerFixtures;
+import com.exchange.rates.config.ProviderCircuitBreakers;
+import com.exchange.rates.config.ProviderHttpProperties;
+import com.exchange.rates.config.ProviderWebClientFactory;
 import com.exchange.rates.dto.ExchangeRateResponseDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,7 +39,7 @@ import static org.mockito.Mockito.when;
 class FreeCurrencyRatesClientTest {
 
     @Mock
-    WebClient.Builder webClientBuilder;
+    ProviderWebClientFactory webClientFactory;
 
     @Mock
     WebClient webClient;
@@ -41,6 +53,8 @@ class FreeCurrencyRatesClientTest {
     @Mock
     WebClient.ResponseSpec responseSpec;
 
+    ProviderCircuitBreakers circuitBreakers;
+
     FreeCurrencyRatesClient freeCurrencyRatesClient;
 
     private final String apiUrl = "http://fake-api";
@@ -48,12 +62,13 @@ class FreeCurrencyRatesClientTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(webClientBuilder.build()).thenReturn(webClient);
+        when(webClientFactory.create("free-currency-rates")).thenReturn(webClient);
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(String.class))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
 
-        freeCurrencyRatesClient = new FreeCurrencyRatesClient(webClientBuilder, apiUrl);
+        circuitBreakers = CircuitBreakerFixtures.circuitBreakers(new ProviderHttpProperties());
+        freeCurrencyRatesClient = new FreeCurrencyRatesClient(webClientFactory, circuitBreakers, apiUrl);
     }
 
     @Test
@@ -63,15 +78,10 @@ class FreeCurrencyRatesClientTest {
 
     @Test
     void getExchangeRates_successfulResponse_filtersSymbolsCorrectly() {
-        // Setup response body with base currency key in lowercase
-        Map<String, Double> ratesMap = new HashMap<>();
-        ratesMap.put("eur", 1.12);
-        ratesMap.put("gbp", 0.85);
-        ratesMap.put("jpy", 130.1);
-
-        Map<String, Object> mockBody = Map.of("usd", ratesMap);
+        // Setup response body with base currency key in lowercase, delivered in small chunks
+        String mockBody = "{\"date\":\"2026-10-16\",\"usd\":{\"eur\":1.12,\"gbp\":0.85,\"jpy\":130.1}}";
 
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(mockBody));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked(mockBody, 3));
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
 
         Mono<ExchangeRateResponseDTO> result = freeCurrencyRatesClient.getExchangeRates("USD", "EUR,JPY");
@@ -95,11 +105,50 @@ class FreeCurrencyRatesClientTest {
         assertTrue(calledUri.endsWith("/currencies/usd.json"));
     }
 
+    @Test
+    void getExchangeRates_withDate_usesTheDatedPackageVersion() {
+        String mockBody = "{\"date\":\"2026-09-30\",\"usd\":{\"eur\":1.1}}";
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked(mockBody, 16));
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        FreeCurrencyRatesClient versioned = new FreeCurrencyRatesClient(webClientFactory, circuitBreakers,
+                "https://cdn.example/currency-api@latest/v1");
+
+        StepVerifier.create(versioned.getExchangeRates("USD", null, LocalDate.of(2026, 9, 30)))
+                .assertNext(dto -> assertEquals(Map.of("EUR", 1.1), dto.getRates()))
+                .verifyComplete();
+
+        verify(requestHeadersUriSpec).uri("https://cdn.example/currency-api@2026-09-30/v1/currencies/usd.json");
+    }
+
+    @Test
+    void getExchangeRates_withDateAndUnversionedUrl_returnsEmptyMono() {
+        StepVerifier.create(freeCurrencyRatesClient.getExchangeRates("USD", null, LocalDate.of(2026, 9, 30)))
+                .verifyComplete();
+
+        verify(webClient, never()).get();
+    }
+
+    @Test
+    void getExchangeRates_noSymbols_returnsFullUpperCaseTable() {
+        String mockBody = "{\"date\":\"2026-10-16\",\"usd\":{\"eur\":1.12,\"usd\":1}}";
+
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked(mockBody, 8));
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+
+        StepVerifier.create(freeCurrencyRatesClient.getExchangeRates("USD", null))
+                .assertNext(dto -> {
+                    assertEquals(2, dto.getRates().size());
+                    assertEquals(1.12, dto.getRates().get("EUR"));
+                    assertEquals(1.0, dto.getRates().get("USD"));
+                })
+                .verifyComplete();
+    }
+
     @Test
     void getExchangeRates_responseMissingBaseCurrencyKey_returnsDTOWithNullRates() {
-        Map<String, Object> mockBody = Map.of("someOtherKey", Map.of("eur", 1.1));
+        String mockBody = "{\"someOtherKey\":{\"eur\":1.1}}";
 
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(mockBody));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(chunked(mockBody, 5));
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
 
         StepVerifier.create(freeCurrencyRatesClient.getExchangeRates("USD", "EUR"))
@@ -121,7 +170,7 @@ class FreeCurrencyRatesClientTest {
             }
             return responseSpec;
         });
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.error(new RuntimeException("API error")));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(Flux.error(new RuntimeException("API error")));
 
         StepVerifier.create(freeCurrencyRatesClient.getExchangeRates("USD", "EUR"))
                 .verifyComplete();
@@ -130,10 +179,20 @@ class FreeCurrencyRatesClientTest {
     @Test
     void getExchangeRates_networkError_returnsEmptyMono() {
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.error(new RuntimeException("Network error")));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(Flux.error(new RuntimeException("Network error")));
 
         StepVerifier.create(freeCurrencyRatesClient.getExchangeRates("USD", "EUR"))
                 .verifyComplete();
     }
 
+    private static Flux<DataBuffer> chunked(String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize))));
+        }
+        return Flux.fromIterable(chunks);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.exchange.rates.service.client;
+
+import com.exchange.rates.exception.ExchangeRateException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 02:35 PM
+ */
+
+class RateTableParserTest {
+
+    private static final String BODY = "{\"date\":\"2026-10-16\",\"meta\":{\"usd\":{\"eur\":9.9}},"
+            + "\"usd\":{\"eur\":0.91,\"gbp\":0.79,\"notes\":[1,{\"jpy\":1}],\"jpy\":149,\"btc\":1.6e-5}}";
+
+    @Test
+    void rates_sameResultForEverySplitPoint() {
+        byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+
+        for (int split = 0; split <= bytes.length; split++) {
+            RateTableParser parser = new RateTableParser("usd", null)
+                    .feed(wrap(Arrays.copyOfRange(bytes, 0, split)))
+                    .feed(wrap(Arrays.copyOfRange(bytes, split, bytes.length)))
+                    .finish();
+
+            assertEquals(Map.of("EUR", 0.91, "GBP", 0.79, "JPY", 149.0, "BTC", 1.6e-5), parser.rates(),
+                    "split at " + split);
+        }
+    }
+
+    @Test
+    void rates_keepsOnlyRequestedSymbols() {
+        RateTableParser parser = new RateTableParser("usd", "JPY, eur")
+                .feed(wrap(BODY.getBytes(StandardCharsets.UTF_8)))
+                .finish();
+
+        assertEquals(Map.of("EUR", 0.91, "JPY", 149.0), parser.rates());
+    }
+
+    @Test
+    void rates_missingRatesField_isNull() {
+        RateTableParser parser = new RateTableParser("rates", null)
+                .feed(wrap(BODY.getBytes(StandardCharsets.UTF_8)))
+                .finish();
+
+        assertTrue(parser.hasContent());
+        assertNull(parser.rates());
+    }
+
+    @Test
+    void finish_emptyBody_hasNoContent() {
+        assertFalse(new RateTableParser("rates", null).finish().hasContent());
+    }
+
+    @Test
+    void finish_truncatedBody_throws() {
+        RateTableParser parser = new RateTableParser("rates", null)
+                .feed(wrap("{\"rates\":{\"EUR\":1.2".getBytes(StandardCharsets.UTF_8)));
+
+        assertThrows(ExchangeRateException.class, parser::finish);
+    }
+
+    private static DataBuffer wrap(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+}
@@ -0,0 +1,159 @@
+package com.exchange.rates.service.history;
+
+import com.exchange.rates.dto.ExchangeRateResponseDTO;
+import com.exchange.rates.dto.RateHistoryPointDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Iman Irajian
+ * Date: 10/18/2026 11:40 PM
+ */
+
+class RateHistoryStoreTest {
+
+    private static final Instant START = Instant.parse("2026-09-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private RateHistoryStore newStore(DataSize segmentSize) {
+        return new RateHistoryStore(true, directory, segmentSize, 4, Duration.ofDays(36500), Runnable::run);
+    }
+
+    private static ExchangeRateResponseDTO snapshot(String base, Instant timestamp, double usd) {
+        return ExchangeRateResponseDTO.builder()
+                .base(base)
+                .timestamp(timestamp)
+                .rates(Map.of("USD", usd, "GBP", usd / 2, "JPY", usd * 100))
+                .build();
+    }
+
+    private static List<RateHistoryPointDTO> scan(RateHistoryStore store, String base, Instant from, Instant to,
+                                                  List<String> symbols, Duration interval) {
+        return store.scan(base, from, to, symbols, interval).collectList().block();
+    }
+
+    @Test
+    void scan_returnsOnlyTheBaseAndRangeInTimeOrder() {
+        RateHistoryStore store = newStore(DataSize.ofMegabytes(1));
+        for (int i = 0; i < 100; i++) {
+            store.append(snapshot("EUR", START.plusSeconds(60L * i), i));
+            store.append(snapshot("CHF", START.plusSeconds(60L * i), -i));
+        }
+
+        List<RateHistoryPointDTO> points = scan(store, "EUR",
+                START.plusSeconds(60 * 10), START.plusSeconds(60 * 19), List.of(), null);
+
+        assertEquals(10, points.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(START.plusSeconds(60L * (10 + i)), points.get(i).getTimestamp());
+            assertEquals(Map.of("USD", 10.0 + i, "GBP", (10.0 + i) / 2, "JPY", (10.0 + i) * 100),
+                    points.get(i).getRates());
+        }
+    }
+
+    @Test
+    void scan_withSymbols_decodesOnlyThoseRates() {
+        RateHistoryStore store = newStore(DataSize.ofMegabytes(1));
+        store.append(snapshot("EUR", START, 1.1));
+
+        List<RateHistoryPointDTO> points = scan(store, "EUR", START, START, List.of("JPY", "XXX"), null);
+
+        assertEquals(1, points.size());
+        assertEquals(Map.of("JPY", 110.00000000000001), points.get(0).getRates());
+    }
+
+    @Test
+    void scan_withInterval_emitsTheLastPointOfEachBucket() {
+        RateHistoryStore store = newStore(DataSize.ofMegabytes(1));
+        for (int i = 0; i < 180; i++) {
+            store.append(snapshot("EUR", START.plusSeconds(60L * i), i));
+        }
+
+        List<RateHistoryPointDTO> points = scan(store, "EUR", START, START.plusSeconds(3 * 3600),
+                List.of("USD"), Duration.ofHours(1));
+
+        assertEquals(3, points.size());
+        assertEquals(List.of(59.0, 119.0, 179.0), points.stream().map(point -> point.getRates().get("USD")).toList());
+    }
+
+    @Test
+    void append_rollsSegmentsAndScanSpansThem() throws Exception {
+        RateHistoryStore store = newStore(DataSize.ofKilobytes(1));
+        for (int i = 0; i < 50; i++) {
+            store.append(snapshot("EUR", START.plusSeconds(i), i));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+        List<RateHistoryPointDTO> points = scan(store, "EUR", START, START.plusSeconds(49), List.of("USD"), null);
+        assertEquals(50, points.size());
+        assertEquals(49.0, points.get(49).getRates().get("USD"));
+    }
+
+    @Test
+    void reopen_replaysSegmentsAndKeepsAppending() {
+        RateHistoryStore store = newStore(DataSize.ofKilobytes(4));
+        for (int i = 0; i < 20; i++) {
+            store.append(snapshot("EUR", START.plusSeconds(i), i));
+        }
+
+        RateHistoryStore reopened = newStore(DataSize.ofKilobytes(4));
+        reopened.append(snapshot("EUR", START.plusSeconds(20), 20));
+
+        List<RateHistoryPointDTO> points = scan(reopened, "EUR", START, START.plusSeconds(20), List.of("USD"), null);
+        assertEquals(21, points.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals((double) i, points.get(i).getRates().get("USD"));
+        }
+    }
+
+    @Test
+    void append_clampsTimestampsToBeNonDecreasing() {
+        RateHistoryStore store = newStore(DataSize.ofMegabytes(1));
+        store.append(snapshot("EUR", START.plusSeconds(10), 1));
+        store.append(snapshot("EUR", START, 2));
+
+        List<RateHistoryPointDTO> points = scan(store, "EUR", START, START.plusSeconds(10), List.of(), null);
+
+        assertEquals(2, points.size());
+        assertEquals(START.plusSeconds(10), points.get(1).getTimestamp());
+    }
+
+    @Test
+    void append_newCurrencyMidSegment_extendsTheDictionary() {
+        RateHistoryStore store = newStore(DataSize.ofMegabytes(1));
+        store.append(snapshot("EUR", START, 1));
+        Map<String, Double> rates = new HashMap<>(Map.of("USD", 2.0));
+        rates.put("BTC", 0.00001);
+        store.append(ExchangeRateResponseDTO.builder().base("EUR").timestamp(START.plusSeconds(1)).rates(rates).build());
+
+        List<RateHistoryPointDTO> points = scan(store, "EUR", START, START.plusSeconds(1), List.of("BTC", "USD"), null);
+
+        assertEquals(Map.of("USD", 1.0), points.get(0).getRates());
+        assertEquals(Map.of("USD", 2.0, "BTC", 0.00001), points.get(1).getRates());
+    }
+
+    @Test
+    void scan_whenDisabled_isEmpty() {
+        RateHistoryStore store = new RateHistoryStore(false, directory, DataSize.ofMegabytes(1), 4,
+                Duration.ofDays(1), Runnable::run);
+        store.append(snapshot("EUR", START, 1));
+
+        assertTrue(scan(store, "EUR", START, START, List.of(), null).isEmpty());
+    }
+}